@@ -0,0 +1,178 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.material.MaterialData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+// In-Memory-ChunkData: ein Material- und ein BlockData-Array über die volle Höhe, kein Server nötig
+@SuppressWarnings("deprecation")
+public final class BenchChunkData implements ChunkGenerator.ChunkData {
+
+    // Über Materialnamen statt Ordinals, damit der Hash API-Versionen übersteht
+    private static final long[] NAME_HASH = new long[Material.values().length];
+
+    static {
+        for (Material material : Material.values()) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < material.name().length(); i++) {
+                hash ^= material.name().charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            NAME_HASH[material.ordinal()] = hash;
+        }
+    }
+
+    private final int minHeight;
+    private final int maxHeight;
+    private final int height;
+    private final Material[] types;
+    private final BlockData[] data;
+
+    public BenchChunkData(int minHeight, int maxHeight) {
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+        this.height = maxHeight - minHeight;
+        this.types = new Material[16 * 16 * height];
+        this.data = new BlockData[16 * 16 * height];
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(types, Material.AIR);
+        Arrays.fill(data, null);
+    }
+
+    // Inhalts-Hash des Chunks (FNV-1a über alle Blöcke in fester Reihenfolge) für Golden-Vergleiche
+    public long contentHash() {
+        long hash = 0xcbf29ce484222325L ^ minHeight;
+        hash = (hash * 0x100000001b3L) ^ maxHeight;
+        for (Material type : types) {
+            hash = (hash ^ NAME_HASH[type.ordinal()]) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Prüfsumme über alle Blöcke, damit JMH das Ergebnis nicht wegoptimiert
+    public int checksum() {
+        int hash = 1;
+        for (Material type : types) {
+            hash = hash * 31 + type.ordinal();
+        }
+        return hash;
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minHeight;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    @NotNull
+    @Override
+    public Biome getBiome(int x, int y, int z) {
+        return Biome.WARPED_FOREST;
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull Material material) {
+        if (inBounds(x, y, z)) {
+            int index = index(x, y, z);
+            types[index] = material;
+            data[index] = null;
+        }
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull MaterialData material) {
+        setBlock(x, y, z, material.getItemType());
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull BlockData blockData) {
+        if (inBounds(x, y, z)) {
+            int index = index(x, y, z);
+            types[index] = blockData.getMaterial();
+            data[index] = blockData;
+        }
+    }
+
+    @Override
+    public void setRegion(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, @NotNull Material material) {
+        setRegion(xMin, yMin, zMin, xMax, yMax, zMax, material, null);
+    }
+
+    @Override
+    public void setRegion(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, @NotNull MaterialData material) {
+        setRegion(xMin, yMin, zMin, xMax, yMax, zMax, material.getItemType(), null);
+    }
+
+    @Override
+    public void setRegion(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, @NotNull BlockData blockData) {
+        setRegion(xMin, yMin, zMin, xMax, yMax, zMax, blockData.getMaterial(), blockData);
+    }
+
+    @NotNull
+    @Override
+    public Material getType(int x, int y, int z) {
+        return inBounds(x, y, z) ? types[index(x, y, z)] : Material.AIR;
+    }
+
+    @NotNull
+    @Override
+    public MaterialData getTypeAndData(int x, int y, int z) {
+        return new MaterialData(getType(x, y, z));
+    }
+
+    @NotNull
+    @Override
+    public BlockData getBlockData(int x, int y, int z) {
+        if (!inBounds(x, y, z)) {
+            return Headless.blockData(Material.AIR);
+        }
+        int index = index(x, y, z);
+        return data[index] != null ? data[index] : Headless.blockData(types[index]);
+    }
+
+    @Override
+    public byte getData(int x, int y, int z) {
+        return 0;
+    }
+
+    private void setRegion(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax,
+                           Material material, BlockData blockData) {
+        xMin = Math.max(xMin, 0);
+        yMin = Math.max(yMin, minHeight);
+        zMin = Math.max(zMin, 0);
+        xMax = Math.min(xMax, 16);
+        yMax = Math.min(yMax, maxHeight);
+        zMax = Math.min(zMax, 16);
+
+        for (int x = xMin; x < xMax; x++) {
+            for (int z = zMin; z < zMax; z++) {
+                int from = index(x, yMin, z);
+                int to = from + (yMax - yMin);
+                if (to > from) {
+                    Arrays.fill(types, from, to, material);
+                    Arrays.fill(data, from, to, blockData);
+                }
+            }
+        }
+    }
+
+    private boolean inBounds(int x, int y, int z) {
+        return x >= 0 && x < 16 && z >= 0 && z < 16 && y >= minHeight && y < maxHeight;
+    }
+
+    private int index(int x, int y, int z) {
+        return ((x << 4) | z) * height + (y - minHeight);
+    }
+}
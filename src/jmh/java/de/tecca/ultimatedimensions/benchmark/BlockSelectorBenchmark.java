@@ -0,0 +1,103 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import de.tecca.ultimatedimensions.generator.BlockSelector;
+import de.tecca.ultimatedimensions.generator.NoiseBank;
+import de.tecca.ultimatedimensions.generator.OctaveNoise;
+import de.tecca.ultimatedimensions.generator.TerrainConstants;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Eine Spalte (256 Blöcke) pro Aufruf, Ausgabe in Blöcken pro Mikrosekunde
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BlockSelectorBenchmark {
+
+    private static final int COLUMN = 256;
+    private static final int SURFACE = 64;
+
+    private BlockSelector selector;
+    private OctaveNoise oreNoise;
+    private final Random random = new Random(42);
+    private int column;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Headless.install();
+        TerrainConstants constants = TerrainConstants.createDefault();
+        NoiseBank noiseBank = new NoiseBank(42L, constants.noise, OctaveNoise.Mode.COMPAT);
+
+        selector = new BlockSelector(constants);
+        oreNoise = noiseBank.ore;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLUMN)
+    public void selectNormalBlock(Blackhole blackhole) {
+        int x = column++;
+        for (int y = 0; y < COLUMN; y++) {
+            Material block = selector.selectNormalBlock(random, y, SURFACE);
+            blackhole.consume(block);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLUMN)
+    public void selectGeodeBlock(Blackhole blackhole) {
+        int x = column++;
+        for (int y = 0; y < COLUMN; y++) {
+            Material block = selector.selectGeodeBlock(random, y, SURFACE);
+            blackhole.consume(block);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLUMN)
+    public void selectCrystalFieldBlock(Blackhole blackhole) {
+        int x = column++;
+        for (int y = 0; y < COLUMN; y++) {
+            Material block = selector.selectCrystalFieldBlock(random, y, SURFACE);
+            blackhole.consume(block);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLUMN)
+    public void selectDeepZoneBlock(Blackhole blackhole) {
+        int x = column++;
+        for (int y = 0; y < COLUMN; y++) {
+            Material block = selector.selectDeepZoneBlock(random, y, SURFACE);
+            blackhole.consume(block);
+        }
+    }
+
+    // Ohne Oraxen-Palette: misst nur den Leer-Check
+    @Benchmark
+    @OperationsPerInvocation(COLUMN)
+    public void selectNormalOre(Blackhole blackhole) {
+        int x = column++;
+        for (int y = 0; y < COLUMN; y++) {
+            BlockData ore = selector.selectNormalOre(random, y, SURFACE, x, y, 0, oreNoise);
+            blackhole.consume(ore);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
+import de.tecca.ultimatedimensions.dimension.DimensionConfig;
+import de.tecca.ultimatedimensions.generator.TerrainConstants;
+import org.bukkit.generator.WorldInfo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Stresstest für die Thread-Sicherheit des Generators: erzeugt ein size x size-Chunkfeld einmal seriell mit eigenem
+// Generator und danach mehrmals parallel mit einem gemeinsamen Generator in gemischter Reihenfolge, so dass sich die
+// Threads Noise-Bank, Zonen-Caches und Surface-Übergabe teilen. Jeder Chunk muss byte-identisch zur seriellen
+// Referenz sein, sonst Exit-Code 1.
+//
+// Aufruf: DeterminismCheck [--dimension amethyst] [--seed 8675309] [--size 64] [--threads 8] [--passes 2]
+public final class DeterminismCheck {
+
+    private static final long DEFAULT_SEED = 8_675_309L;
+    private static final int MIN_HEIGHT = 0;
+    private static final int MAX_HEIGHT = 256;
+
+    private DeterminismCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String dimension = options.getOrDefault("dimension", "amethyst");
+        long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(DEFAULT_SEED)));
+        int size = Integer.parseInt(options.getOrDefault("size", "64"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Math.max(8, Runtime.getRuntime().availableProcessors() * 2))));
+        int passes = Integer.parseInt(options.getOrDefault("passes", "2"));
+
+        Headless.install();
+        DimensionConfig config = Headless.dimensionConfig(dimension);
+        int total = size * size;
+
+        System.out.printf("Dimension %s, Seed %d, %d Chunks, %d Threads, %d parallele Durchläufe%n",
+                dimension, seed, total, threads, passes);
+
+        long start = System.nanoTime();
+        long[] reference = generate(newGenerator(config, seed), config, seed, size, identity(total), 1);
+        System.out.printf("Seriell: %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+        // Ein Generator für alle parallelen Durchläufe: der zweite läuft auf warmen Caches mit Verdrängung
+        BaseDimensionGenerator shared = newGenerator(config, seed);
+        Random shuffle = new Random(seed);
+        int mismatches = 0;
+
+        for (int pass = 1; pass <= passes; pass++) {
+            int[] order = shuffled(total, shuffle);
+            start = System.nanoTime();
+            long[] hashes = generate(shared, config, seed, size, order, threads);
+
+            int passMismatches = 0;
+            for (int i = 0; i < total; i++) {
+                if (hashes[i] != reference[i] && passMismatches++ < 10) {
+                    System.out.printf("  Durchlauf %d: Chunk %d,%d weicht ab (%016x statt %016x)%n",
+                            pass, chunkX(i, size), chunkZ(i, size), hashes[i], reference[i]);
+                }
+            }
+            System.out.printf("Parallel %d: %.1f s, %d Abweichungen%n",
+                    pass, (System.nanoTime() - start) / 1e9, passMismatches);
+            mismatches += passMismatches;
+        }
+
+        System.out.println(mismatches == 0 ? "Deterministisch" : "NICHT deterministisch: " + mismatches + " Chunks");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    private static BaseDimensionGenerator newGenerator(DimensionConfig config, long seed) throws Exception {
+        return config.getGeneratorClass()
+                .getConstructor(DimensionConfig.class, long.class, TerrainConstants.class)
+                .newInstance(config, seed, TerrainConstants.createDefault());
+    }
+
+    // hashes[i] gehört immer zu Chunk i, egal in welcher Reihenfolge generiert wurde
+    private static long[] generate(BaseDimensionGenerator generator, DimensionConfig config, long seed, int size,
+                                   int[] order, int threads) throws Exception {
+        WorldInfo worldInfo = Headless.worldInfo("determinism-" + config.getId(), seed, MIN_HEIGHT, MAX_HEIGHT);
+        long[] hashes = new long[order.length];
+        ThreadLocal<BenchChunkData> buffers = ThreadLocal.withInitial(() -> new BenchChunkData(MIN_HEIGHT, MAX_HEIGHT));
+        AtomicInteger next = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    BenchChunkData chunkData = buffers.get();
+                    Random random = new Random();
+                    int position;
+                    while ((position = next.getAndIncrement()) < order.length) {
+                        int index = order[position];
+                        int chunkX = chunkX(index, size);
+                        int chunkZ = chunkZ(index, size);
+                        random.setSeed(seed ^ ((long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL)));
+
+                        chunkData.clear();
+                        generator.generateNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+                        generator.generateSurface(worldInfo, random, chunkX, chunkZ, chunkData);
+                        generator.generateBedrock(worldInfo, random, chunkX, chunkZ, chunkData);
+                        hashes[index] = chunkData.contentHash();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return hashes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int[] identity(int total) {
+        int[] order = new int[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static int[] shuffled(int total, Random random) {
+        int[] order = identity(total);
+        for (int i = total - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    private static int chunkX(int index, int size) {
+        return index % size - size / 2;
+    }
+
+    private static int chunkZ(int index, int size) {
+        return index / size - size / 2;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Erwartet --<option> <wert>, erhalten: " + args[i]);
+            }
+            // Leere Maven-Properties kommen als fehlender Wert an -> Option gilt als nicht angegeben
+            if (i + 1 >= args.length || args[i + 1].startsWith("--")) {
+                continue;
+            }
+            String name = args[i].substring(2);
+            String value = args[++i];
+            if (!value.isBlank()) {
+                options.put(name, value);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,121 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import de.tecca.ultimatedimensions.dimensions.amethyst.AmethystDimensionGenerator;
+import de.tecca.ultimatedimensions.generator.TerrainConstants;
+import org.bukkit.generator.WorldInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Ein Aufruf = ein Chunk, die Ausgabe in ops/s entspricht also Chunks pro Sekunde.
+// Die Chunks laufen über ein spread x spread-Feld, damit Zonen- und Surface-Caches realistisch arbeiten.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GenerationBenchmark {
+
+    private static final long SEED = 8_675_309L;
+
+    @Param({"64"})
+    public int spread;
+
+    private AmethystDimensionGenerator generator;
+    private WorldInfo worldInfo;
+    private BenchChunkData chunkData;
+    private final Random random = new Random();
+    private int next;
+    private int chunkX;
+    private int chunkZ;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Headless.install();
+        generator = new AmethystDimensionGenerator(Headless.amethystConfig(), SEED, TerrainConstants.createDefault());
+        worldInfo = Headless.worldInfo("benchmark", SEED, 0, 256);
+        chunkData = new BenchChunkData(0, 256);
+    }
+
+    private void advance() {
+        int index = next++ % (spread * spread);
+        chunkX = index % spread;
+        chunkZ = index / spread;
+        random.setSeed(SEED ^ ((long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL)));
+    }
+
+    @Benchmark
+    public int terrainNoise() {
+        advance();
+        chunkData.clear();
+        generator.generateNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+        return chunkData.checksum();
+    }
+
+    @Benchmark
+    public int fullChunk() {
+        advance();
+        chunkData.clear();
+        generator.generateNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+        generator.generateSurface(worldInfo, random, chunkX, chunkZ, chunkData);
+        generator.generateBedrock(worldInfo, random, chunkX, chunkZ, chunkData);
+        return chunkData.checksum();
+    }
+
+    @Benchmark
+    public int bedrock() {
+        advance();
+        generator.generateBedrock(worldInfo, random, chunkX, chunkZ, chunkData);
+        return chunkData.getType(0, 0, 0).ordinal();
+    }
+
+    // Surface-Pass allein: der Noise-Pass läuft vorher außerhalb der Messung
+    @State(Scope.Thread)
+    public static class PreparedChunk {
+
+        AmethystDimensionGenerator generator;
+        WorldInfo worldInfo;
+        BenchChunkData chunkData;
+        final Random random = new Random();
+        int next;
+        int chunkX;
+        int chunkZ;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Headless.install();
+            generator = new AmethystDimensionGenerator(Headless.amethystConfig(), SEED, TerrainConstants.createDefault());
+            worldInfo = Headless.worldInfo("benchmark", SEED, 0, 256);
+            chunkData = new BenchChunkData(0, 256);
+        }
+
+        @Setup(Level.Invocation)
+        public void generateTerrain() {
+            int index = next++ % (64 * 64);
+            chunkX = index % 64;
+            chunkZ = index / 64;
+            random.setSeed(SEED ^ ((long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL)));
+            chunkData.clear();
+            generator.generateNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+        }
+    }
+
+    @Benchmark
+    public int surfaceFeatures(PreparedChunk chunk) {
+        chunk.generator.generateSurface(chunk.worldInfo, chunk.random, chunk.chunkX, chunk.chunkZ, chunk.chunkData);
+        return chunk.chunkData.getType(8, 64, 8).ordinal();
+    }
+}
@@ -0,0 +1,268 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
+import de.tecca.ultimatedimensions.dimension.DimensionConfig;
+import de.tecca.ultimatedimensions.generator.TerrainConstants;
+import org.bukkit.generator.WorldInfo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Generiert ein size x size-Chunkfeld um den Ursprung ohne Server, einmal pro Thread-Anzahl mit frischem Generator.
+// Meldet Chunks/s und Latenz-Perzentile je Lauf und vergleicht die Inhalts-Hashes untereinander und mit der Golden-Datei
+// (golden/<dimension>-<seed>.txt auf dem Classpath oder --golden). Exit-Code 1 bei Abweichungen.
+//
+// Aufruf: GenerationHarness [--dimension amethyst] [--seed 8675309] [--size 16] [--threads 1,2,4,8]
+//                           [--golden <datei>] [--write-golden <datei>]
+public final class GenerationHarness {
+
+    private static final long DEFAULT_SEED = 8_675_309L;
+    private static final int MIN_HEIGHT = 0;
+    private static final int MAX_HEIGHT = 256;
+
+    private record Run(int threads, long wallNanos, long[] latencies, long[] hashes) {
+
+        double chunksPerSecond() {
+            return hashes.length / (wallNanos / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    private GenerationHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String dimension = options.getOrDefault("dimension", "amethyst");
+        long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(DEFAULT_SEED)));
+        int size = Integer.parseInt(options.getOrDefault("size", "16"));
+        int[] threadCounts = Arrays.stream(options.getOrDefault("threads", defaultThreads()).split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+        Headless.install();
+        DimensionConfig config = Headless.dimensionConfig(dimension);
+
+        System.out.printf("Dimension %s, Seed %d, %d Chunks (%dx%d), %d Kerne%n",
+                dimension, seed, size * size, size, size, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %10s %10s %10s %10s %18s%n",
+                "Threads", "Chunks/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "Hash");
+
+        List<Run> runs = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Run run = generate(config, seed, size, threads);
+            runs.add(run);
+            System.out.printf("%8d %12.1f %10.3f %10.3f %10.3f %10.3f %18s%n",
+                    threads, run.chunksPerSecond(), run.percentileMillis(50), run.percentileMillis(90),
+                    run.percentileMillis(99), run.percentileMillis(100), hex(combined(run.hashes())));
+        }
+
+        boolean failed = false;
+        long[] reference = runs.get(0).hashes();
+        for (Run run : runs) {
+            int mismatches = compare(reference, run.hashes(), size, "Threads " + run.threads());
+            failed |= mismatches > 0;
+        }
+
+        String writeGolden = options.get("write-golden");
+        if (writeGolden != null) {
+            writeGolden(Path.of(writeGolden), dimension, seed, size, reference);
+            System.out.println("Golden-Datei geschrieben: " + writeGolden);
+        }
+
+        Map<Long, Long> golden = readGolden(options.get("golden"), dimension, seed);
+        if (golden == null) {
+            System.out.println("Keine Golden-Datei für " + dimension + "-" + seed + ", Vergleich übersprungen");
+        } else {
+            int mismatches = 0;
+            int checked = 0;
+            for (int i = 0; i < reference.length; i++) {
+                Long expected = golden.get(chunkKey(chunkX(i, size), chunkZ(i, size)));
+                if (expected == null) {
+                    continue;
+                }
+                checked++;
+                if (expected != reference[i]) {
+                    if (mismatches++ < 10) {
+                        System.out.printf("  Golden-Abweichung bei Chunk %d,%d: erwartet %s, erhalten %s%n",
+                                chunkX(i, size), chunkZ(i, size), hex(expected), hex(reference[i]));
+                    }
+                }
+            }
+            System.out.printf("Golden: %d/%d Chunks geprüft, %d Abweichungen%n", checked, golden.size(), mismatches);
+            failed |= mismatches > 0;
+        }
+
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static Run generate(DimensionConfig config, long seed, int size, int threads) throws Exception {
+        // Wie DimensionRegistry.createGenerator, nur über den serverlosen Konstruktor
+        BaseDimensionGenerator generator = config.getGeneratorClass()
+                .getConstructor(DimensionConfig.class, long.class, TerrainConstants.class)
+                .newInstance(config, seed, TerrainConstants.createDefault());
+        WorldInfo worldInfo = Headless.worldInfo("harness-" + config.getId(), seed, MIN_HEIGHT, MAX_HEIGHT);
+
+        int total = size * size;
+        long[] latencies = new long[total];
+        long[] hashes = new long[total];
+        ThreadLocal<BenchChunkData> buffers = ThreadLocal.withInitial(() -> new BenchChunkData(MIN_HEIGHT, MAX_HEIGHT));
+        AtomicInteger next = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    BenchChunkData chunkData = buffers.get();
+                    Random random = new Random();
+                    int index;
+                    while ((index = next.getAndIncrement()) < total) {
+                        int chunkX = chunkX(index, size);
+                        int chunkZ = chunkZ(index, size);
+                        random.setSeed(seed ^ chunkKey(chunkX, chunkZ));
+
+                        long begin = System.nanoTime();
+                        chunkData.clear();
+                        generator.generateNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+                        generator.generateSurface(worldInfo, random, chunkX, chunkZ, chunkData);
+                        generator.generateBedrock(worldInfo, random, chunkX, chunkZ, chunkData);
+                        latencies[index] = System.nanoTime() - begin;
+                        hashes[index] = chunkData.contentHash();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return new Run(threads, System.nanoTime() - start, latencies, hashes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int compare(long[] reference, long[] hashes, int size, String label) {
+        int mismatches = 0;
+        for (int i = 0; i < reference.length; i++) {
+            if (reference[i] != hashes[i] && mismatches++ < 10) {
+                System.out.printf("  %s: Chunk %d,%d weicht vom ersten Lauf ab%n", label, chunkX(i, size), chunkZ(i, size));
+            }
+        }
+        if (mismatches > 0) {
+            System.out.printf("%s: %d nicht deterministische Chunks%n", label, mismatches);
+        }
+        return mismatches;
+    }
+
+    private static Map<Long, Long> readGolden(String path, String dimension, long seed) throws IOException {
+        InputStream in = path != null
+                ? Files.newInputStream(Path.of(path))
+                : GenerationHarness.class.getClassLoader().getResourceAsStream("golden/" + dimension + "-" + seed + ".txt");
+        if (in == null) {
+            return null;
+        }
+
+        Map<Long, Long> golden = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                golden.put(chunkKey(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])),
+                        Long.parseUnsignedLong(parts[2], 16));
+            }
+        }
+        return golden;
+    }
+
+    private static void writeGolden(Path path, String dimension, long seed, int size, long[] hashes) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.printf("# %s seed=%d size=%d height=%d..%d%n", dimension, seed, size, MIN_HEIGHT, MAX_HEIGHT);
+            writer.println("# chunkX chunkZ hash");
+            for (int i = 0; i < hashes.length; i++) {
+                writer.printf("%d %d %s%n", chunkX(i, size), chunkZ(i, size), hex(hashes[i]));
+            }
+        }
+    }
+
+    // Feld zentriert um Chunk 0,0
+    private static int chunkX(int index, int size) {
+        return index % size - size / 2;
+    }
+
+    private static int chunkZ(int index, int size) {
+        return index / size - size / 2;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static long combined(long[] hashes) {
+        long hash = 0xcbf29ce484222325L;
+        for (long value : hashes) {
+            hash = (hash ^ value) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static String hex(long value) {
+        return String.format("%016x", value);
+    }
+
+    private static String defaultThreads() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        StringBuilder threads = new StringBuilder("1");
+        for (int count = 2; count <= cores; count *= 2) {
+            threads.append(',').append(count);
+        }
+        return threads.toString();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Erwartet --<option> <wert>, erhalten: " + args[i]);
+            }
+            // Leere Maven-Properties kommen als fehlender Wert an -> Option gilt als nicht angegeben
+            if (i + 1 >= args.length || args[i + 1].startsWith("--")) {
+                continue;
+            }
+            String name = args[i].substring(2);
+            String value = args[++i];
+            if (!value.isBlank()) {
+                options.put(name, value);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,226 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import de.tecca.ultimatedimensions.dimension.DimensionConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.Keyed;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.generator.BiomeProvider;
+import org.bukkit.generator.WorldInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+// Minimaler Server-Ersatz für Benchmarks: BlockData und Registry-Einträge (z.B. Biome) sind Proxys,
+// die nur Material bzw. Key kennen. Reicht für den Generator, der selbst keine Server-Funktionen nutzt.
+// Der Welt-Ordner (für zone_map) ist ein temporäres Verzeichnis, das beim Beenden gelöscht wird.
+public final class Headless {
+
+    private static final Logger LOGGER = Logger.getLogger("Headless");
+    private static final Map<Class<?>, Registry<?>> REGISTRIES = new ConcurrentHashMap<>();
+    private static volatile boolean installed;
+    private static File worldContainer;
+
+    private Headless() {
+    }
+
+    public static synchronized void install() {
+        if (installed || Bukkit.getServer() != null) {
+            installed = true;
+            return;
+        }
+
+        worldContainer = createWorldContainer();
+
+        Server server = (Server) Proxy.newProxyInstance(Headless.class.getClassLoader(), new Class<?>[]{Server.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "createBlockData" -> args[0] instanceof Material material ? blockData(material) : null;
+                    case "getRegistry" -> registry(args[0] instanceof Class<?> type ? type : Keyed.class);
+                    case "getLogger" -> LOGGER;
+                    case "getWorldContainer" -> worldContainer;
+                    case "getName", "getVersion", "getBukkitVersion", "getMinecraftVersion" -> "headless";
+                    case "isPrimaryThread" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "HeadlessServer";
+                    default -> defaultValue(method.getReturnType());
+                });
+
+        // Bukkit.setServer loggt Build-Infos, die es ohne Server nicht gibt -> Feld direkt setzen
+        try {
+            Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, server);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Headless server could not be installed", e);
+        }
+        installed = true;
+    }
+
+    private static File createWorldContainer() {
+        try {
+            Path directory = Files.createTempDirectory("ultimatedimensions-headless");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteRecursively(directory)));
+            return directory.toFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Headless world container could not be created", e);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            LOGGER.warning("Temporäres Verzeichnis nicht gelöscht: " + directory);
+        }
+    }
+
+    public static WorldInfo worldInfo(String name, long seed, int minHeight, int maxHeight) {
+        UUID uid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        return (WorldInfo) Proxy.newProxyInstance(Headless.class.getClassLoader(), new Class<?>[]{WorldInfo.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> name;
+                    case "getUID" -> uid;
+                    case "getSeed" -> seed;
+                    case "getMinHeight" -> minHeight;
+                    case "getMaxHeight" -> maxHeight;
+                    case "getEnvironment" -> World.Environment.NETHER;
+                    case "vanillaBiomeProvider" -> (BiomeProvider) null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "HeadlessWorld[" + name + "]";
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    // Einstellungen der Amethyst-Dimension aus der mitgelieferten config.yml
+    public static DimensionConfig amethystConfig() {
+        return dimensionConfig("amethyst");
+    }
+
+    public static DimensionConfig dimensionConfig(String id) {
+        try (InputStream in = Headless.class.getClassLoader().getResourceAsStream("config.yml")) {
+            if (in == null) {
+                throw new IllegalStateException("config.yml not on classpath");
+            }
+            YamlConfiguration yaml = YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8));
+            ConfigurationSection section = yaml.getConfigurationSection("dimensions." + id);
+            if (section == null) {
+                throw new IllegalArgumentException("Unknown dimension: " + id);
+            }
+            return DimensionConfig.fromConfig(id, section);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final Map<Material, BlockData> BLOCK_DATA = new ConcurrentHashMap<>();
+
+    static BlockData blockData(Material material) {
+        return BLOCK_DATA.computeIfAbsent(material, m -> {
+            String asString = m.getKey().toString();
+            return (BlockData) Proxy.newProxyInstance(Headless.class.getClassLoader(), new Class<?>[]{BlockData.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getMaterial" -> m;
+                        case "getAsString" -> asString;
+                        case "clone" -> proxy;
+                        case "matches" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "BlockData[" + asString + "]";
+                        default -> defaultValue(method.getReturnType());
+                    });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Keyed> Registry<T> registry(Class<?> type) {
+        return (Registry<T>) REGISTRIES.computeIfAbsent(type, Headless::createRegistry);
+    }
+
+    private static Registry<?> createRegistry(Class<?> type) {
+        Map<NamespacedKey, Object> entries = new ConcurrentHashMap<>();
+        AtomicInteger ordinals = new AtomicInteger();
+
+        return (Registry<?>) Proxy.newProxyInstance(Headless.class.getClassLoader(), new Class<?>[]{Registry.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "get", "getOrThrow" -> args[0] == null ? null : entries.computeIfAbsent(key(args[0]),
+                            key -> entry(type.isInterface() ? type : Keyed.class, key, ordinals.getAndIncrement()));
+                    case "getKey", "getKeyOrThrow" -> args[0] instanceof Keyed keyed ? keyed.getKey() : null;
+                    case "iterator" -> new ArrayList<>(entries.values()).iterator();
+                    case "stream" -> new ArrayList<>(entries.values()).stream();
+                    case "size" -> entries.size();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "HeadlessRegistry[" + type.getSimpleName() + "]";
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static NamespacedKey key(Object key) {
+        if (key instanceof NamespacedKey namespacedKey) {
+            return namespacedKey;
+        }
+        if (key instanceof net.kyori.adventure.key.Key adventureKey) {
+            return new NamespacedKey(adventureKey.namespace(), adventureKey.value());
+        }
+        return NamespacedKey.fromString(String.valueOf(key));
+    }
+
+    private static Object entry(Class<?> type, NamespacedKey key, int ordinal) {
+        String name = key.getKey().toUpperCase();
+        List<Class<?>> interfaces = new ArrayList<>(List.of(type));
+        if (type != Keyed.class && !Keyed.class.isAssignableFrom(type)) {
+            interfaces.add(Keyed.class);
+        }
+
+        return Proxy.newProxyInstance(Headless.class.getClassLoader(), interfaces.toArray(new Class<?>[0]),
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getKey", "key", "getKeyOrThrow" -> key;
+                    case "name" -> name;
+                    case "ordinal" -> ordinal;
+                    case "compareTo" -> key.toString().compareTo(String.valueOf(args[0]));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> key.toString();
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+}
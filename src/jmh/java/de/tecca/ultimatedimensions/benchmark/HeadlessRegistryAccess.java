@@ -0,0 +1,34 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
+import org.bukkit.Keyed;
+import org.bukkit.Registry;
+import org.bukkit.block.Biome;
+import org.bukkit.block.BlockType;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.Nullable;
+
+// Wird per ServiceLoader gefunden (META-INF/services) und liefert die Proxy-Registries aus Headless,
+// damit registry-basierte Konstanten wie Biome.WARPED_FOREST ohne Server initialisiert werden können.
+public final class HeadlessRegistryAccess implements RegistryAccess {
+
+    @Override
+    @Deprecated
+    public <T extends Keyed> @Nullable Registry<T> getRegistry(Class<T> type) {
+        return Headless.registry(type);
+    }
+
+    @Override
+    public <T extends Keyed> Registry<T> getRegistry(RegistryKey<T> registryKey) {
+        Class<?> type = Keyed.class;
+        if (RegistryKey.BIOME.equals(registryKey)) {
+            type = Biome.class;
+        } else if (RegistryKey.BLOCK.equals(registryKey)) {
+            type = BlockType.class;
+        } else if (RegistryKey.ITEM.equals(registryKey)) {
+            type = ItemType.class;
+        }
+        return Headless.registry(type);
+    }
+}
@@ -0,0 +1,76 @@
+package de.tecca.ultimatedimensions.benchmark;
+
+import de.tecca.ultimatedimensions.dimensions.amethyst.AmethystBiomeProvider;
+import de.tecca.ultimatedimensions.generator.ChunkZoneCache;
+import org.bukkit.block.Biome;
+import org.bukkit.generator.WorldInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// spread bestimmt, wie viele verschiedene Chunks abgefragt werden:
+// kleiner als die Cache-Kapazität = Treffer, deutlich größer = überwiegend Neuberechnung
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ZoneBenchmark {
+
+    private static final long SEED = 8_675_309L;
+
+    // Ein Chunk hat 4x4 Quart-Spalten, bei 256 Blöcken Höhe je 64 Quart-Zellen
+    private static final int BIOME_CELLS = 4 * 4 * 64;
+
+    @Param({"32", "512"})
+    public int spread;
+
+    private AmethystBiomeProvider biomeProvider;
+    private ChunkZoneCache zoneCache;
+    private WorldInfo worldInfo;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Headless.install();
+        biomeProvider = new AmethystBiomeProvider(SEED);
+        zoneCache = new ChunkZoneCache(biomeProvider);
+        worldInfo = Headless.worldInfo("benchmark", SEED, 0, 256);
+    }
+
+    @Benchmark
+    public ChunkZoneCache.ZoneData getZoneData() {
+        int index = next++ % (spread * spread);
+        return zoneCache.getZoneData((index % spread) * 16 + 8, (index / spread) * 16 + 8);
+    }
+
+    // Alle Biome-Zellen eines Chunks, wie sie der Server abfragt; ops/s = Chunks/s
+    @Benchmark
+    public void getBiomeChunk(Blackhole blackhole) {
+        int index = next++ % (spread * spread);
+        int baseX = (index % spread) * 16;
+        int baseZ = (index / spread) * 16;
+
+        for (int qx = 0; qx < 4; qx++) {
+            for (int qz = 0; qz < 4; qz++) {
+                for (int qy = 0; qy < BIOME_CELLS / 16; qy++) {
+                    Biome biome = biomeProvider.getBiome(worldInfo, baseX + (qx << 2), qy << 2, baseZ + (qz << 2));
+                    blackhole.consume(biome);
+                }
+            }
+        }
+    }
+}
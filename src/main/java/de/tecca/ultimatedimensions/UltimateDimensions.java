@@ -1,29 +1,44 @@
 package de.tecca.ultimatedimensions;
 
 import de.tecca.ultimatedimensions.commands.DimensionCommand;
+import de.tecca.ultimatedimensions.dimension.BaseBiomeProvider;
 import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
 import de.tecca.ultimatedimensions.dimension.DimensionConfig;
 import de.tecca.ultimatedimensions.dimension.DimensionRegistry;
+import de.tecca.ultimatedimensions.dimension.ZoneSearch;
 import de.tecca.ultimatedimensions.dimensions.amethyst.AmethystDimensionGenerator;
+import de.tecca.ultimatedimensions.generator.BatchNoise;
+import de.tecca.ultimatedimensions.generator.CacheBudget;
+import de.tecca.ultimatedimensions.metrics.MetricsServer;
+import de.tecca.ultimatedimensions.pregen.PregenManager;
+import de.tecca.ultimatedimensions.world.IdleUnloader;
+import de.tecca.ultimatedimensions.world.WorldListener;
+import de.tecca.ultimatedimensions.world.WorldStore;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.WorldCreator;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.Map;
+import java.util.Set;
 
 public class UltimateDimensions extends JavaPlugin {
 
+    private static final long CACHE_REBALANCE_TICKS = 20L * 10;
+
     private static UltimateDimensions instance;
     private boolean oraxenAvailable = false;
-    private FileConfiguration worldsConfig;
-    private File worldsConfigFile;
+    private WorldStore worldStore;
+    private ZoneSearch zoneSearch;
+    private PregenManager pregenManager;
+    private MetricsServer metricsServer;
+    private IdleUnloader idleUnloader;
+    private CacheBudget cacheBudget;
 
     @Override
     public void onEnable() {
@@ -37,13 +52,32 @@ public class UltimateDimensions extends JavaPlugin {
             getLogger().info("Oraxen gefunden - Custom Ores aktiviert!");
         }
 
+        BatchNoise batchNoise = BatchNoise.get();
+        getLogger().info("Noise-Backend: " + batchNoise.getName());
+        if (!batchNoise.isVectorized()) {
+            getLogger().info("SIMD-Noise verfügbar mit JVM-Flag --add-modules " + BatchNoise.VECTOR_MODULE);
+        }
+
+        startCacheBudget();
+
         DimensionRegistry.initialize(this);
         registerBuiltInDimensions();
         DimensionRegistry.getInstance().loadFromConfig(getConfig());
 
+        zoneSearch = new ZoneSearch(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        pregenManager = new PregenManager(this);
+        idleUnloader = new IdleUnloader(this);
+
         getCommand("dimension").setExecutor(new DimensionCommand(this));
+        Bukkit.getPluginManager().registerEvents(new WorldListener(this), this);
 
-        Bukkit.getScheduler().runTask(this, this::loadSavedWorlds);
+        startMetricsServer();
+
+        Bukkit.getScheduler().runTask(this, () -> {
+            loadSavedWorlds();
+            pregenManager.resumeSaved();
+            idleUnloader.start();
+        });
 
         getLogger().info("UltimateDimensions erfolgreich geladen!");
         getLogger().info("Registrierte Dimensions-Typen: " +
@@ -52,7 +86,57 @@ public class UltimateDimensions extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (pregenManager != null) {
+            pregenManager.shutdown();
+        }
+        if (idleUnloader != null) {
+            idleUnloader.stop();
+        }
+
         saveAllWorlds();
+        if (worldStore != null) {
+            // Beim Stop werden Spieler erst nach dem Deaktivieren gekickt, WorldListener.onQuit greift dann nicht mehr
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                recordPlayerWorld(player);
+            }
+            worldStore.close();
+        }
+
+        if (zoneSearch != null) {
+            zoneSearch.shutdown();
+        }
+
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+    }
+
+    // Vor dem ersten Generator, damit sich alle Caches anmelden
+    private void startCacheBudget() {
+        long megabytes = Math.max(0, getConfig().getLong("cache_budget.mb", 128));
+        cacheBudget = new CacheBudget(megabytes * 1024 * 1024);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(this, cacheBudget::rebalance,
+                CACHE_REBALANCE_TICKS, CACHE_REBALANCE_TICKS);
+
+        getLogger().info(megabytes > 0
+                ? "Cache-Budget für Generatoren: " + megabytes + " MB"
+                : "Cache-Budget für Generatoren: unbegrenzt");
+    }
+
+    private void startMetricsServer() {
+        if (!getConfig().getBoolean("metrics.http_enabled", false)) {
+            return;
+        }
+
+        int port = getConfig().getInt("metrics.http_port", 9464);
+        metricsServer = new MetricsServer(this);
+        try {
+            metricsServer.start(port);
+            getLogger().info("Metriken unter http://127.0.0.1:" + port + "/metrics");
+        } catch (Exception e) {
+            getLogger().warning("Metrik-Endpunkt konnte nicht gestartet werden: " + e.getMessage());
+            metricsServer = null;
+        }
     }
 
     private void registerBuiltInDimensions() {
@@ -64,92 +148,122 @@ public class UltimateDimensions extends JavaPlugin {
                 .addFeature("floating_islands")
                 .addFeature("crystal_caves");
 
-        DimensionRegistry.getInstance().registerDimension("amethyst", amethystConfig);
+        DimensionRegistry registry = DimensionRegistry.getInstance();
+        registry.getGeneratorFactory().register(AmethystDimensionGenerator.class, AmethystDimensionGenerator::new);
+        registry.registerDimension("amethyst", amethystConfig);
     }
 
     private void loadWorldsConfig() {
-        worldsConfigFile = new File(getDataFolder(), "worlds.yml");
+        File worldsConfigFile = new File(getDataFolder(), "worlds.yml");
         if (!worldsConfigFile.exists()) {
             worldsConfigFile.getParentFile().mkdirs();
             saveResource("worlds.yml", false);
         }
-        worldsConfig = YamlConfiguration.loadConfiguration(worldsConfigFile);
+        worldStore = new WorldStore(worldsConfigFile, getLogger());
+        worldStore.load();
     }
 
-    private void saveWorldsConfig() {
-        try {
-            worldsConfig.save(worldsConfigFile);
-        } catch (Exception e) {
-            getLogger().severe("Fehler beim Speichern der worlds.yml: " + e.getMessage());
+    private void loadSavedWorlds() {
+        boolean lazy = getConfig().getBoolean("worlds.lazy_loading", false);
+        int deferred = 0;
+
+        for (Map.Entry<String, WorldStore.Entry> saved : worldStore.getAll().entrySet()) {
+            if (lazy && !saved.getValue().loadOnStartup()) {
+                deferred++;
+                continue;
+            }
+            loadWorld(saved.getKey());
         }
-    }
 
-    private void loadSavedWorlds() {
-        if (!worldsConfig.contains("worlds")) {
-            return;
+        if (deferred > 0) {
+            getLogger().info(deferred + " gespeicherte Welten registriert, werden bei Bedarf geladen");
         }
+    }
 
-        ConfigurationSection section = worldsConfig.getConfigurationSection("worlds");
-        if (section == null) return;
+    public boolean isKnownWorld(String worldName) {
+        return worldStore.get(worldName) != null;
+    }
 
-        for (String worldName : section.getKeys(false)) {
-            long seed = section.getLong(worldName + ".seed", 0);
-            String envStr = section.getString(worldName + ".environment", "NORMAL");
-            String dimensionType = section.getString(worldName + ".dimension_type", "amethyst");
+    public Set<String> getKnownWorlds() {
+        return worldStore.getAll().keySet();
+    }
 
-            World world = Bukkit.getWorld(worldName);
-            if (world == null) {
-                getLogger().info("Lade gespeicherte Welt: " + worldName + " (Typ: " + dimensionType + ")");
+    // Lädt eine Welt aus der worlds.yml, falls sie noch nicht geladen ist (nur auf dem Main-Thread).
+    // null, wenn die Welt unbekannt ist oder nicht erstellt werden konnte.
+    @Nullable
+    public World loadWorld(String worldName) {
+        World world = Bukkit.getWorld(worldName);
+        if (world != null) {
+            return world;
+        }
 
-                World.Environment environment;
-                try {
-                    environment = World.Environment.valueOf(envStr);
-                } catch (IllegalArgumentException e) {
-                    environment = World.Environment.NORMAL;
-                }
+        WorldStore.Entry saved = worldStore.get(worldName);
+        if (saved == null) {
+            return null;
+        }
 
-                try {
-                    DimensionRegistry registry = DimensionRegistry.getInstance();
-                    if (!registry.hasDimension(dimensionType)) {
-                        getLogger().warning("Unbekannter Dimensions-Typ für Welt " + worldName + ": " + dimensionType);
-                        continue;
-                    }
-
-                    BaseDimensionGenerator generator = registry.createGenerator(dimensionType, seed);
-
-                    WorldCreator creator = new WorldCreator(worldName)
-                            .environment(environment)
-                            .generator(generator)
-                            .generateStructures(true)
-                            .seed(seed);
-
-                    world = creator.createWorld();
-                    if (world != null) {
-                        world.setSpawnLocation(0, 64, 0);
-                        getLogger().info("Welt geladen: " + worldName);
-                    } else {
-                        getLogger().warning("Konnte Welt nicht laden: " + worldName);
-                    }
-                } catch (Exception e) {
-                    getLogger().severe("Fehler beim Laden der Welt " + worldName + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
+        String dimensionType = saved.dimensionType();
+        getLogger().info("Lade gespeicherte Welt: " + worldName + " (Typ: " + dimensionType + ")");
+
+        DimensionRegistry registry = DimensionRegistry.getInstance();
+        if (!registry.hasDimension(dimensionType)) {
+            getLogger().warning("Unbekannter Dimensions-Typ für Welt " + worldName + ": " + dimensionType);
+            return null;
+        }
+
+        BaseDimensionGenerator generator = null;
+        try {
+            // Geteilt mit geladenen Klonen bzw. nach einem Idle-Entladen noch warm gehalten
+            generator = registry.createGenerator(dimensionType, saved.seed());
+
+            WorldCreator creator = new WorldCreator(worldName)
+                    .environment(saved.environment())
+                    .generator(generator)
+                    .generateStructures(true)
+                    .seed(saved.seed());
+
+            world = creator.createWorld();
+            if (world != null) {
+                world.setSpawnLocation(0, 64, 0);
+                idleUnloader.worldLoaded(worldName);
+                getLogger().info("Welt geladen: " + worldName);
+            } else {
+                registry.releaseGenerator(generator);
+                getLogger().warning("Konnte Welt nicht laden: " + worldName);
+            }
+            return world;
+        } catch (Exception e) {
+            if (generator != null) {
+                registry.releaseGenerator(generator);
             }
+            getLogger().severe("Fehler beim Laden der Welt " + worldName + ": " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public void setLoadOnStartup(String worldName, boolean loadOnStartup) {
+        WorldStore.Entry saved = worldStore.get(worldName);
+        if (saved != null) {
+            worldStore.put(worldName, saved.withLoadOnStartup(loadOnStartup));
         }
     }
 
+    // Nur im Speicher, worlds.yml wird verzögert im Hintergrund geschrieben
     public void saveWorld(String worldName, long seed, World.Environment environment, String dimensionType) {
-        worldsConfig.set("worlds." + worldName + ".seed", seed);
-        worldsConfig.set("worlds." + worldName + ".environment", environment.name());
-        worldsConfig.set("worlds." + worldName + ".dimension_type", dimensionType);
-        saveWorldsConfig();
-        getLogger().info("Welt gespeichert: " + worldName + " (Typ: " + dimensionType + ")");
+        WorldStore.Entry previous = worldStore.get(worldName);
+        boolean loadOnStartup = previous != null && previous.loadOnStartup();
+        if (worldStore.put(worldName, new WorldStore.Entry(seed, environment, dimensionType, loadOnStartup))) {
+            getLogger().info("Welt gespeichert: " + worldName + " (Typ: " + dimensionType + ")");
+        }
     }
 
     public void removeWorld(String worldName) {
-        worldsConfig.set("worlds." + worldName, null);
-        saveWorldsConfig();
-        getLogger().info("Welt entfernt: " + worldName);
+        idleUnloader.forget(worldName);
+        pregenManager.forget(worldName);
+        if (worldStore.remove(worldName)) {
+            getLogger().info("Welt entfernt: " + worldName);
+        }
     }
 
     private void saveAllWorlds() {
@@ -158,10 +272,39 @@ public class UltimateDimensions extends JavaPlugin {
                 BaseDimensionGenerator gen = (BaseDimensionGenerator) world.getGenerator();
                 saveWorld(world.getName(), world.getSeed(), world.getEnvironment(),
                         gen.getConfig().getId());
+
+                if (gen.getDefaultBiomeProvider(world) instanceof BaseBiomeProvider biomes) {
+                    biomes.flushZoneMap();
+                }
             }
         }
     }
 
+    public void recordPlayerWorld(Player player) {
+        String worldName = player.getWorld().getName();
+        worldStore.setPlayerWorld(player.getUniqueId(), isKnownWorld(worldName) ? worldName : null);
+    }
+
+    public WorldStore getWorldStore() {
+        return worldStore;
+    }
+
+    public CacheBudget getCacheBudget() {
+        return cacheBudget;
+    }
+
+    public IdleUnloader getIdleUnloader() {
+        return idleUnloader;
+    }
+
+    public ZoneSearch getZoneSearch() {
+        return zoneSearch;
+    }
+
+    public PregenManager getPregenManager() {
+        return pregenManager;
+    }
+
     public boolean isOraxenAvailable() {
         return oraxenAvailable;
     }
@@ -1,9 +1,18 @@
 package de.tecca.ultimatedimensions.commands;
 
 import de.tecca.ultimatedimensions.UltimateDimensions;
+import de.tecca.ultimatedimensions.dimension.BaseBiomeProvider;
 import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
 import de.tecca.ultimatedimensions.dimension.DimensionConfig;
 import de.tecca.ultimatedimensions.dimension.DimensionRegistry;
+import de.tecca.ultimatedimensions.dimension.ZoneSearch;
+import de.tecca.ultimatedimensions.generator.CacheBudget;
+import de.tecca.ultimatedimensions.generator.ChunkZoneCache;
+import de.tecca.ultimatedimensions.metrics.GenerationMetrics;
+import de.tecca.ultimatedimensions.metrics.LatencyHistogram;
+import de.tecca.ultimatedimensions.pregen.PregenManager;
+import de.tecca.ultimatedimensions.pregen.PregenTask;
+import de.tecca.ultimatedimensions.world.IdleUnloader;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -18,7 +27,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class DimensionCommand implements CommandExecutor, TabCompleter {
 
@@ -49,6 +60,18 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
                 return handleList(sender);
             case "types":
                 return handleTypes(sender);
+            case "findbiome":
+                return handleFindBiome(sender, args);
+            case "pregen":
+                return handlePregen(sender, args);
+            case "stats":
+                return handleStats(sender, args);
+            case "caches":
+                return handleCaches(sender);
+            case "load":
+                return handleLoad(sender, args);
+            case "autoload":
+                return handleAutoload(sender, args);
             default:
                 sendHelp(sender);
                 return true;
@@ -87,9 +110,10 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§aErstelle Dimension '" + worldName + "' (Typ: " + dimensionType + ")...");
 
         Bukkit.getScheduler().runTask(plugin, () -> {
+            BaseDimensionGenerator generator = null;
             try {
                 DimensionConfig config = registry.getDimension(dimensionType);
-                BaseDimensionGenerator generator = registry.createGenerator(dimensionType, seed);
+                generator = registry.createGenerator(dimensionType, seed);
 
                 WorldCreator creator = new WorldCreator(worldName)
                         .environment(config.getEnvironment())
@@ -107,9 +131,13 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
                     sender.sendMessage("§7Typ: §e" + config.getDisplayName());
                     sender.sendMessage("§7Seed: §e" + seed);
                 } else {
+                    registry.releaseGenerator(generator);
                     sender.sendMessage("§cFehler beim Erstellen der Welt!");
                 }
             } catch (Exception e) {
+                if (generator != null) {
+                    registry.releaseGenerator(generator);
+                }
                 sender.sendMessage("§cFehler: " + e.getMessage());
                 plugin.getLogger().severe("Fehler beim Erstellen der Welt: " + e.getMessage());
                 e.printStackTrace();
@@ -139,6 +167,11 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
         String worldName = args[1];
         World world = Bukkit.getWorld(worldName);
 
+        if (world == null && plugin.isKnownWorld(worldName)) {
+            sender.sendMessage("§7Lade Welt '" + worldName + "'...");
+            world = plugin.loadWorld(worldName);
+        }
+
         if (world == null) {
             sender.sendMessage("§cWelt '" + worldName + "' existiert nicht!");
             return true;
@@ -180,7 +213,13 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
         World world = Bukkit.getWorld(worldName);
 
         if (world == null) {
-            sender.sendMessage("§cWelt '" + worldName + "' ist nicht geladen!");
+            // Nie geladene Welt (lazy_loading): nur aus der worlds.yml austragen
+            if (plugin.isKnownWorld(worldName)) {
+                plugin.removeWorld(worldName);
+                sender.sendMessage("§aWelt '" + worldName + "' wurde ausgetragen!");
+            } else {
+                sender.sendMessage("§cWelt '" + worldName + "' ist nicht geladen!");
+            }
             return true;
         }
 
@@ -216,10 +255,44 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
                 BaseDimensionGenerator gen = (BaseDimensionGenerator) world.getGenerator();
                 sender.sendMessage("§e- §a" + world.getName() +
                         " §7(Typ: " + gen.getConfig().getId() + ", Seed: " + world.getSeed() + ")");
+
+                int references = DimensionRegistry.getInstance().getGeneratorFactory().getReferences(gen);
+                if (references > 1) {
+                    sender.sendMessage("  §7Generator geteilt: §f" + references + " Referenzen");
+                }
+
+                ChunkZoneCache zoneCache = gen.getZoneCache();
+                if (zoneCache != null) {
+                    sender.sendMessage(String.format("  §7Zonen-Cache: §f%d/%d §7Hit-Rate: §f%.1f%% §7Verdrängt: §f%d",
+                            zoneCache.size(), zoneCache.capacity(), zoneCache.getHitRate() * 100,
+                            zoneCache.getEvictions()));
+                }
+
+                if (gen.getDefaultBiomeProvider(world) instanceof BaseBiomeProvider biomes) {
+                    sender.sendMessage(String.format("  §7Zonen-Kacheln: §f%d/%d §7Hit-Rate: §f%.1f%%",
+                            biomes.getTileCacheSize(), biomes.getTileCacheCapacity(),
+                            biomes.getTileCacheHitRate() * 100));
+                }
+                sendIdleStats(sender, world.getName());
+                found = true;
+            }
+        }
+
+        for (String worldName : plugin.getKnownWorlds()) {
+            if (Bukkit.getWorld(worldName) == null) {
+                boolean warm = plugin.getIdleUnloader().isRetained(worldName);
+                sender.sendMessage("§e- §7" + worldName + " (nicht geladen" + (warm ? ", Generator warm" : "") + ")");
+                sendIdleStats(sender, worldName);
                 found = true;
             }
         }
 
+        IdleUnloader idle = plugin.getIdleUnloader();
+        if (idle.isEnabled()) {
+            sender.sendMessage(String.format("§7Idle-Entladen aktiv, warme Generatoren: §f%d/%d",
+                    idle.getRetainedCount(), idle.getRetainedLimit()));
+        }
+
         if (!found) {
             sender.sendMessage("§7Keine Custom Dimensionen gefunden.");
         }
@@ -227,6 +300,14 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private void sendIdleStats(CommandSender sender, String worldName) {
+        IdleUnloader.Stats stats = plugin.getIdleUnloader().getStats(worldName);
+        if (stats != null) {
+            sender.sendMessage(String.format("  §7Entladen: §f%d §7Neu geladen: §f%d §7Freigegeben: §f%d Chunks, %d Entities",
+                    stats.getUnloads(), stats.getReloads(), stats.getChunksReleased(), stats.getEntitiesReleased()));
+        }
+    }
+
     private boolean handleTypes(CommandSender sender) {
         if (!sender.hasPermission("ultimatedimensions.list")) {
             sender.sendMessage("§cKeine Berechtigung!");
@@ -247,6 +328,356 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private boolean handleFindBiome(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage("§cNur Spieler können diesen Command nutzen!");
+            return true;
+        }
+
+        if (!sender.hasPermission("ultimatedimensions.findbiome")) {
+            sender.sendMessage("§cKeine Berechtigung!");
+            return true;
+        }
+
+        Player player = (Player) sender;
+        World world = player.getWorld();
+
+        if (!(world.getGenerator() instanceof BaseDimensionGenerator gen) ||
+                !(gen.getDefaultBiomeProvider(world) instanceof BaseBiomeProvider biomes)) {
+            sender.sendMessage("§cDu bist in keiner Custom Dimension!");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage("§cNutzung: /dimension findbiome <zone> [radius]");
+            sender.sendMessage("§7Zonen: §f" + String.join(", ", zoneNames(biomes)));
+            return true;
+        }
+
+        int zoneType = parseZone(biomes, args[1]);
+        if (zoneType < 0) {
+            sender.sendMessage("§cUnbekannte Zone: " + args[1]);
+            sender.sendMessage("§7Zonen: §f" + String.join(", ", zoneNames(biomes)));
+            return true;
+        }
+
+        int radius = ZoneSearch.DEFAULT_RADIUS;
+        if (args.length >= 3) {
+            try {
+                radius = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§cUngültiger Radius: " + args[2]);
+                return true;
+            }
+        }
+        radius = Math.min(radius, ZoneSearch.MAX_RADIUS);
+
+        String zoneName = biomes.getZoneTypeName(zoneType);
+        Location origin = player.getLocation();
+        int searchRadius = radius;
+
+        sender.sendMessage("§7Suche " + zoneName + " im Umkreis von " + searchRadius + " Blöcken...");
+
+        plugin.getZoneSearch()
+                .find(world.getUID(), biomes, zoneType, origin.getBlockX(), origin.getBlockZ(), searchRadius)
+                .whenComplete((result, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        sender.sendMessage("§cFehler bei der Suche: " + error.getMessage());
+                        return;
+                    }
+
+                    if (result.isEmpty()) {
+                        sender.sendMessage("§c" + zoneName + " nicht im Umkreis von " + searchRadius + " Blöcken gefunden.");
+                        return;
+                    }
+
+                    ZoneSearch.Result found = result.get();
+                    sender.sendMessage(String.format("§a%s gefunden bei §eX: %d Z: %d §7(%.0f Blöcke entfernt)",
+                            zoneName, found.x(), found.z(), found.distance(origin.getX(), origin.getZ())));
+                }));
+
+        return true;
+    }
+
+    private boolean handlePregen(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ultimatedimensions.pregen")) {
+            sender.sendMessage("§cKeine Berechtigung!");
+            return true;
+        }
+
+        PregenManager pregen = plugin.getPregenManager();
+
+        if (args.length < 2) {
+            if (pregen.getTasks().isEmpty()) {
+                sender.sendMessage("§7Keine laufenden Pregen-Aufträge.");
+            }
+            for (PregenTask task : pregen.getTasks()) {
+                sender.sendMessage("§e" + task.getWorldName() + " §7" + pregen.format(task));
+            }
+            sender.sendMessage("§7Nutzung: /dimension pregen <welt> <radius|stop|pause|resume>");
+            return true;
+        }
+
+        String worldName = args[1];
+
+        if (args.length >= 3 && args[2].equalsIgnoreCase("stop")) {
+            if (pregen.stop(worldName)) {
+                sender.sendMessage("§aPregen für '" + worldName + "' angehalten, Fortschritt gespeichert.");
+            } else {
+                sender.sendMessage("§cKein laufender Pregen-Auftrag für '" + worldName + "'.");
+            }
+            return true;
+        }
+
+        if (args.length >= 3 && (args[2].equalsIgnoreCase("pause") || args[2].equalsIgnoreCase("resume"))) {
+            boolean pause = args[2].equalsIgnoreCase("pause");
+            if (pregen.setPaused(worldName, pause)) {
+                sender.sendMessage(pause
+                        ? "§aPregen für '" + worldName + "' pausiert."
+                        : "§aPregen für '" + worldName + "' fortgesetzt.");
+            } else {
+                sender.sendMessage("§cKein laufender Pregen-Auftrag für '" + worldName + "'.");
+            }
+            return true;
+        }
+
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            sender.sendMessage("§cWelt '" + worldName + "' nicht gefunden!");
+            return true;
+        }
+
+        if (args.length < 3) {
+            PregenTask task = pregen.getTask(worldName);
+            sender.sendMessage(task != null
+                    ? "§e" + worldName + " §7" + pregen.format(task)
+                    : "§cNutzung: /dimension pregen <welt> <radius|stop|pause|resume>");
+            return true;
+        }
+
+        int radius;
+        try {
+            radius = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cUngültiger Radius: " + args[2]);
+            return true;
+        }
+
+        if (radius <= 0) {
+            sender.sendMessage("§cDer Radius muss größer als 0 sein!");
+            return true;
+        }
+
+        if (!pregen.start(world, radius, sender)) {
+            sender.sendMessage("§cFür '" + worldName + "' läuft bereits ein Pregen-Auftrag!");
+            return true;
+        }
+
+        PregenTask task = pregen.getTask(worldName);
+        sender.sendMessage("§aPregen für '" + worldName + "' gestartet: §e" + task.getTotal() + " §aChunks" +
+                (task.getCompleted() > 0 ? " §7(fortgesetzt bei " + task.getCompleted() + ")" : ""));
+        return true;
+    }
+
+    private boolean handleStats(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ultimatedimensions.stats")) {
+            sender.sendMessage("§cKeine Berechtigung!");
+            return true;
+        }
+
+        List<World> worlds = new ArrayList<>();
+        if (args.length >= 2) {
+            World world = Bukkit.getWorld(args[1]);
+            if (world == null || !(world.getGenerator() instanceof BaseDimensionGenerator)) {
+                sender.sendMessage("§cKeine Custom Dimension namens '" + args[1] + "' geladen!");
+                return true;
+            }
+            worlds.add(world);
+        } else if (sender instanceof Player player && player.getWorld().getGenerator() instanceof BaseDimensionGenerator) {
+            worlds.add(player.getWorld());
+        } else {
+            for (World world : Bukkit.getWorlds()) {
+                if (world.getGenerator() instanceof BaseDimensionGenerator) {
+                    worlds.add(world);
+                }
+            }
+        }
+
+        if (worlds.isEmpty()) {
+            sender.sendMessage("§7Keine Custom Dimensionen gefunden.");
+            return true;
+        }
+
+        // Metriken gehören dem (ggf. geteilten) Generator, also einmal pro Generator mit allen seinen Welten
+        Map<BaseDimensionGenerator, World> generators = new LinkedHashMap<>();
+        for (World world : worlds) {
+            generators.putIfAbsent((BaseDimensionGenerator) world.getGenerator(), world);
+        }
+
+        for (Map.Entry<BaseDimensionGenerator, World> entry : generators.entrySet()) {
+            BaseDimensionGenerator gen = entry.getKey();
+            World world = entry.getValue();
+            GenerationMetrics metrics = gen.getMetrics();
+
+            List<String> names = new ArrayList<>();
+            for (World loaded : Bukkit.getWorlds()) {
+                if (loaded.getGenerator() == gen) {
+                    names.add(loaded.getName());
+                }
+            }
+            sender.sendMessage("§6=== Generator-Statistik: " + String.join(", ", names) + " ===");
+            sender.sendMessage("§7Chunks generiert: §f" + metrics.get(GenerationMetrics.Phase.NOISE).snapshot().count());
+
+            for (GenerationMetrics.Phase phase : GenerationMetrics.Phase.values()) {
+                LatencyHistogram.Snapshot snapshot = metrics.get(phase).snapshot();
+                if (snapshot.count() == 0) {
+                    continue;
+                }
+                sender.sendMessage(String.format("  §7%s: §fp50 %.2f §7/ §fp90 %.2f §7/ §fp99 %.2f §7/ §fmax %.2f ms §7(%d)",
+                        phase.getDisplayName(), millis(snapshot.percentile(0.5)), millis(snapshot.percentile(0.9)),
+                        millis(snapshot.percentile(0.99)), millis(snapshot.max()), snapshot.count()));
+            }
+
+            ChunkZoneCache zoneCache = gen.getZoneCache();
+            if (zoneCache != null) {
+                sender.sendMessage(String.format("  §7Zonen-Cache Hit-Rate: §f%.1f%% §7(%d/%d)",
+                        zoneCache.getHitRate() * 100, zoneCache.getHits(), zoneCache.getHits() + zoneCache.getMisses()));
+            }
+            if (gen.getDefaultBiomeProvider(world) instanceof BaseBiomeProvider biomes) {
+                sender.sendMessage(String.format("  §7Zonen-Kacheln Hit-Rate: §f%.1f%% §7(%d/%d)",
+                        biomes.getTileCacheHitRate() * 100, biomes.getTileCacheHits(),
+                        biomes.getTileCacheHits() + biomes.getTileCacheMisses()));
+            }
+            sender.sendMessage("  §7Oraxen-Ores platziert: §f" + metrics.getOraxenOres());
+        }
+
+        return true;
+    }
+
+    private boolean handleCaches(CommandSender sender) {
+        if (!sender.hasPermission("ultimatedimensions.stats")) {
+            sender.sendMessage("§cKeine Berechtigung!");
+            return true;
+        }
+
+        CacheBudget budget = plugin.getCacheBudget();
+        sender.sendMessage("§6=== Generator-Caches ===");
+        sender.sendMessage(String.format("§7Belegt: §f%.1f MB §7von §f%s §7(%d Caches)",
+                megabytes(budget.getUsedBytes()),
+                budget.isLimited() ? String.format("%.0f MB", megabytes(budget.getBudgetBytes())) : "unbegrenzt",
+                budget.getCacheCount()));
+
+        // Geteilte Generatoren erscheinen einmal, mit allen Welten, die sie nutzen
+        for (Object owner : budget.getOwners()) {
+            List<String> worlds = new ArrayList<>();
+            for (World world : Bukkit.getWorlds()) {
+                if (world.getGenerator() == owner) {
+                    worlds.add(world.getName());
+                }
+            }
+
+            sender.sendMessage(String.format("§e- §a%s §7%.1f MB",
+                    worlds.isEmpty() ? "§7(keine geladene Welt, Generator warm)" : String.join(", ", worlds),
+                    megabytes(budget.getUsedBytes(owner))));
+            for (CacheBudget.Usage usage : budget.getUsage(owner)) {
+                sender.sendMessage(String.format("  §7%s: §f%d/%d §7(max %d) §f%.1f MB",
+                        usage.name(), usage.entries(), usage.capacity(), usage.maxCapacity(), megabytes(usage.bytes())));
+            }
+        }
+
+        return true;
+    }
+
+    private boolean handleLoad(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ultimatedimensions.create")) {
+            sender.sendMessage("§cKeine Berechtigung!");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage("§cNutzung: /dimension load <welt>");
+            return true;
+        }
+
+        String worldName = args[1];
+        if (Bukkit.getWorld(worldName) != null) {
+            sender.sendMessage("§7Welt '" + worldName + "' ist bereits geladen.");
+            return true;
+        }
+        if (!plugin.isKnownWorld(worldName)) {
+            sender.sendMessage("§cWelt '" + worldName + "' ist nicht in der worlds.yml eingetragen!");
+            return true;
+        }
+
+        World world = plugin.loadWorld(worldName);
+        sender.sendMessage(world != null
+                ? "§aWelt '" + worldName + "' geladen!"
+                : "§cFehler beim Laden der Welt!");
+        return true;
+    }
+
+    private boolean handleAutoload(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ultimatedimensions.create")) {
+            sender.sendMessage("§cKeine Berechtigung!");
+            return true;
+        }
+
+        if (args.length < 3 || !(args[2].equalsIgnoreCase("on") || args[2].equalsIgnoreCase("off"))) {
+            sender.sendMessage("§cNutzung: /dimension autoload <welt> <on|off>");
+            return true;
+        }
+
+        String worldName = args[1];
+        if (!plugin.isKnownWorld(worldName)) {
+            sender.sendMessage("§cWelt '" + worldName + "' ist nicht in der worlds.yml eingetragen!");
+            return true;
+        }
+
+        boolean enabled = args[2].equalsIgnoreCase("on");
+        plugin.setLoadOnStartup(worldName, enabled);
+        sender.sendMessage(enabled
+                ? "§a'" + worldName + "' wird beim Start immer geladen."
+                : "§a'" + worldName + "' wird bei lazy_loading erst bei Bedarf geladen.");
+        return true;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static double megabytes(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    private int parseZone(BaseBiomeProvider biomes, String input) {
+        try {
+            int zoneType = Integer.parseInt(input);
+            return zoneType >= 0 && zoneType < biomes.getZoneCount() ? zoneType : -1;
+        } catch (NumberFormatException ignored) {
+        }
+
+        String lower = input.toLowerCase();
+        for (int zoneType = 0; zoneType < biomes.getZoneCount(); zoneType++) {
+            if (zoneKey(biomes.getZoneTypeName(zoneType)).startsWith(lower)) {
+                return zoneType;
+            }
+        }
+        return -1;
+    }
+
+    private List<String> zoneNames(BaseBiomeProvider biomes) {
+        List<String> names = new ArrayList<>();
+        for (int zoneType = 0; zoneType < biomes.getZoneCount(); zoneType++) {
+            names.add(zoneKey(biomes.getZoneTypeName(zoneType)));
+        }
+        return names;
+    }
+
+    // "Crystal Field" -> "crystal"
+    private String zoneKey(String zoneName) {
+        return zoneName.toLowerCase().split(" ")[0];
+    }
+
     private long parseSeed(String seedStr) {
         try {
             return Long.parseLong(seedStr);
@@ -262,6 +693,12 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§e/dimension delete <welt> §7- Entlade Dimension");
         sender.sendMessage("§e/dimension list §7- Liste alle Custom Dimensionen");
         sender.sendMessage("§e/dimension types §7- Zeige verfügbare Dimensions-Typen");
+        sender.sendMessage("§e/dimension findbiome <zone> [radius] §7- Finde die nächste Zone");
+        sender.sendMessage("§e/dimension pregen <welt> <radius|stop|pause|resume> §7- Welt vorgenerieren");
+        sender.sendMessage("§e/dimension stats [welt] §7- Zeige Generator-Statistiken");
+        sender.sendMessage("§e/dimension caches §7- Zeige Speicherbelegung der Generator-Caches");
+        sender.sendMessage("§e/dimension load <welt> §7- Lade eine gespeicherte Welt");
+        sender.sendMessage("§e/dimension autoload <welt> <on|off> §7- Welt beim Start immer laden");
     }
 
     @Override
@@ -270,20 +707,52 @@ public class DimensionCommand implements CommandExecutor, TabCompleter {
                                       @NotNull String alias, @NotNull String[] args) {
 
         if (args.length == 1) {
-            return filterStartingWith(Arrays.asList("create", "tp", "teleport", "delete", "list", "types"), args[0]);
+            return filterStartingWith(Arrays.asList("create", "tp", "teleport", "delete", "list", "types", "findbiome", "pregen",
+                            "stats", "caches", "load", "autoload"),
+                    args[0]);
         }
 
         if (args.length == 2) {
             if (args[0].equalsIgnoreCase("tp") || args[0].equalsIgnoreCase("teleport") ||
-                    args[0].equalsIgnoreCase("delete")) {
+                    args[0].equalsIgnoreCase("delete") || args[0].equalsIgnoreCase("pregen") ||
+                    args[0].equalsIgnoreCase("stats")) {
                 List<String> worlds = new ArrayList<>();
                 for (World world : Bukkit.getWorlds()) {
                     if (world.getGenerator() instanceof BaseDimensionGenerator) {
                         worlds.add(world.getName());
                     }
                 }
+                if (!args[0].equalsIgnoreCase("stats") && !args[0].equalsIgnoreCase("pregen")) {
+                    for (String worldName : plugin.getKnownWorlds()) {
+                        if (!worlds.contains(worldName)) {
+                            worlds.add(worldName);
+                        }
+                    }
+                }
+                return filterStartingWith(worlds, args[1]);
+            }
+
+            if (args[0].equalsIgnoreCase("load") || args[0].equalsIgnoreCase("autoload")) {
+                List<String> worlds = new ArrayList<>(plugin.getKnownWorlds());
+                if (args[0].equalsIgnoreCase("load")) {
+                    worlds.removeIf(worldName -> Bukkit.getWorld(worldName) != null);
+                }
                 return filterStartingWith(worlds, args[1]);
             }
+
+            if (args[0].equalsIgnoreCase("findbiome") && sender instanceof Player player &&
+                    player.getWorld().getGenerator() instanceof BaseDimensionGenerator gen &&
+                    gen.getDefaultBiomeProvider(player.getWorld()) instanceof BaseBiomeProvider biomes) {
+                return filterStartingWith(zoneNames(biomes), args[1]);
+            }
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("autoload")) {
+            return filterStartingWith(Arrays.asList("on", "off"), args[2]);
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("pregen")) {
+            return filterStartingWith(Arrays.asList("stop", "pause", "resume"), args[2]);
         }
 
         if (args.length == 3 && args[0].equalsIgnoreCase("create")) {
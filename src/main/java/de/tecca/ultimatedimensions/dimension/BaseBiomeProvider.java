@@ -1,22 +1,47 @@
 package de.tecca.ultimatedimensions.dimension;
 
+import de.tecca.ultimatedimensions.generator.ChunkZoneCache;
+import de.tecca.ultimatedimensions.generator.LongClockCache;
+import de.tecca.ultimatedimensions.metrics.GenerationMetrics;
 import org.bukkit.block.Biome;
 import org.bukkit.generator.BiomeProvider;
 import org.bukkit.generator.WorldInfo;
 import org.bukkit.util.noise.SimplexOctaveGenerator;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public abstract class BaseBiomeProvider extends BiomeProvider {
 
+    // Ein Kachel = ein Chunk = 4x4 Quart-Spalten (je 4x4 Blöcke)
+    public static final int TILE_QUARTS = 4;
+    public static final int DEFAULT_TILE_CAPACITY = ChunkZoneCache.DEFAULT_CAPACITY;
+    // ZoneGrid mit 16 Punkten (byte[] + 2x double[]) plus Tabellenplatz, für das CacheBudget
+    public static final int TILE_BYTES = 400;
+
     protected final long seed;
     protected final SimplexOctaveGenerator biomeNoise;
     protected final SimplexOctaveGenerator detailNoise;
 
+    // Zonen pro Chunk-Kachel, unabhängig von y; getBiome und ChunkZoneCache lesen beide hieraus
+    private final LongClockCache<ZoneGrid> tiles;
+
+    // Optional: persistente Zonenkarte, wird vor dem Noise befragt
+    private volatile ZoneMap zoneMap;
+    private Logger logger;
+    private volatile GenerationMetrics metrics;
+
     public BaseBiomeProvider(long seed) {
+        this(seed, DEFAULT_TILE_CAPACITY);
+    }
+
+    public BaseBiomeProvider(long seed, int tileCapacity) {
         this.seed = seed;
+        this.tiles = new LongClockCache<>(tileCapacity);
         this.biomeNoise = new SimplexOctaveGenerator(new Random(seed), 5);
         this.biomeNoise.setScale(0.0015);
 
@@ -32,15 +57,176 @@ public abstract class BaseBiomeProvider extends BiomeProvider {
     @Override
     public abstract List<Biome> getBiomes(@NotNull WorldInfo worldInfo);
 
-    public abstract int getZoneType(int x, int z);
+    // Zuordnung des kombinierten Noise-Werts, von jeder Dimension selbst festgelegt
+    protected abstract int zoneType(double combined);
+
+    protected abstract double zoneBlend(double combined, int zoneType);
+
+    protected abstract String zoneName(int zoneType);
+
+    protected double densityMultiplier(int zoneType) {
+        return 1.0;
+    }
+
+    // Zonentypen sind 0 .. getZoneCount() - 1
+    public int getZoneCount() {
+        return 1;
+    }
+
+    public String getZoneTypeName(int zoneType) {
+        return zoneName(zoneType);
+    }
+
+    // Ohne Kachel-Cache und Zonenkarte, für Suchen über große Flächen (thread-safe)
+    public int sampleZoneType(int x, int z) {
+        return zoneType(getCombinedNoise(x, z));
+    }
+
+    public ZoneGrid sampleZones(int originX, int originZ, int step, int width, int depth) {
+        ZoneGrid grid = new ZoneGrid(width, depth);
+        sampleZones(grid, originX, originZ, step);
+        return grid;
+    }
+
+    public void sampleZones(ZoneGrid grid, int originX, int originZ, int step) {
+        grid.reset(originX, originZ, step);
+
+        for (int gx = 0; gx < grid.getWidth(); gx++) {
+            int x = originX + gx * step;
+            for (int gz = 0; gz < grid.getDepth(); gz++) {
+                double combined = getCombinedNoise(x, originZ + gz * step);
+                int zoneType = zoneType(combined);
+                grid.set(grid.index(gx, gz), zoneType, zoneBlend(combined, zoneType), densityMultiplier(zoneType));
+            }
+        }
+    }
+
+    public ZoneGrid getZoneTile(int chunkX, int chunkZ) {
+        long key = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+        return tiles.getOrCompute(key, k -> {
+            long start = System.nanoTime();
+            ZoneGrid tile = computeTile(chunkX, chunkZ);
+            GenerationMetrics current = metrics;
+            if (current != null) {
+                current.record(GenerationMetrics.Phase.BIOME, start);
+            }
+            return tile;
+        });
+    }
+
+    private ZoneGrid computeTile(int chunkX, int chunkZ) {
+        ZoneMap map = zoneMap;
+        if (map != null) {
+            try {
+                return loadTile(map, chunkX, chunkZ);
+            } catch (UncheckedIOException e) {
+                detachZoneMap(map, e);
+            }
+        }
+        return sampleZones(chunkX << 4, chunkZ << 4, 16 / TILE_QUARTS, TILE_QUARTS, TILE_QUARTS);
+    }
 
-    public abstract double getZoneBlend(int x, int z);
+    public void attachMetrics(GenerationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void attachZoneMap(ZoneMap map, Logger logger) {
+        this.logger = logger;
+        this.zoneMap = map;
+        // Bereits berechnete Kacheln haben nicht-quantisierte Übergänge
+        tiles.clear();
+    }
+
+    public ZoneMap getZoneMap() {
+        return zoneMap;
+    }
+
+    public void flushZoneMap() {
+        ZoneMap map = zoneMap;
+        if (map != null) {
+            map.flush();
+        }
+    }
+
+    // Bereits gespeicherte Spalten kommen aus der Karte, fehlende werden berechnet und nachgetragen.
+    // Der Übergang wird auch bei frisch berechneten Spalten quantisiert, damit Neustarts nichts ändern.
+    private ZoneGrid loadTile(ZoneMap map, int chunkX, int chunkZ) {
+        ZoneGrid tile = new ZoneGrid(TILE_QUARTS, TILE_QUARTS);
+        tile.reset(chunkX << 4, chunkZ << 4, 16 / TILE_QUARTS);
+
+        for (int qx = 0; qx < TILE_QUARTS; qx++) {
+            int quartX = (chunkX << 2) + qx;
+            for (int qz = 0; qz < TILE_QUARTS; qz++) {
+                int quartZ = (chunkZ << 2) + qz;
+
+                byte stored = map.get(quartX, quartZ);
+                if (!ZoneMap.isPresent(stored)) {
+                    double combined = getCombinedNoise(quartX << 2, quartZ << 2);
+                    int zoneType = zoneType(combined);
+                    double blend = zoneBlend(combined, zoneType);
+                    stored = ZoneMap.encode(zoneType, blend);
+
+                    if (!ZoneMap.isPresent(stored)) {
+                        // Zonentyp passt nicht ins Kartenformat
+                        tile.set(tile.index(qx, qz), zoneType, blend, densityMultiplier(zoneType));
+                        continue;
+                    }
+                    map.put(quartX, quartZ, stored);
+                }
+
+                int zoneType = ZoneMap.zoneType(stored);
+                tile.set(tile.index(qx, qz), zoneType, ZoneMap.blend(stored), densityMultiplier(zoneType));
+            }
+        }
+        return tile;
+    }
+
+    private void detachZoneMap(ZoneMap map, UncheckedIOException e) {
+        if (zoneMap == map) {
+            zoneMap = null;
+            if (logger != null) {
+                logger.log(Level.WARNING, "Zonenkarte deaktiviert, Zonen werden wieder berechnet", e);
+            }
+        }
+    }
+
+    public int getZoneType(int x, int z) {
+        // Der Server fragt Biome an Quart-Ecken ab (x, z durch 4 teilbar), nur diese liegen in der Kachel
+        if (((x | z) & 3) == 0) {
+            ZoneGrid tile = getZoneTile(x >> 4, z >> 4);
+            return tile.zoneType(tile.indexAt(x, z));
+        }
+        return zoneType(getCombinedNoise(x, z));
+    }
+
+    public double getZoneBlend(int x, int z) {
+        if (((x | z) & 3) == 0) {
+            ZoneGrid tile = getZoneTile(x >> 4, z >> 4);
+            return tile.blend(tile.indexAt(x, z));
+        }
+        double combined = getCombinedNoise(x, z);
+        return zoneBlend(combined, zoneType(combined));
+    }
+
+    public String getZoneName(int x, int z) {
+        return zoneName(getZoneType(x, z));
+    }
+
+    public double getDensityMultiplier(int x, int z) {
+        return densityMultiplier(getZoneType(x, z));
+    }
 
-    public abstract String getZoneName(int x, int z);
+    public LongClockCache<ZoneGrid> getTileCache() { return tiles; }
+    public void clearTileCache() { tiles.clear(); }
+    public int getTileCacheSize() { return tiles.size(); }
+    public int getTileCacheCapacity() { return tiles.capacity(); }
+    public double getTileCacheHitRate() { return tiles.hitRate(); }
+    public long getTileCacheHits() { return tiles.hits(); }
+    public long getTileCacheMisses() { return tiles.misses(); }
 
     protected double getCombinedNoise(int x, int z) {
         double biomeValue = biomeNoise.noise(x, z, 0.5, 0.5, true);
         double detailValue = detailNoise.noise(x, z, 0.5, 0.5, true);
         return biomeValue + detailValue * 0.2;
     }
-}
\ No newline at end of file
+}
@@ -1,32 +1,105 @@
 package de.tecca.ultimatedimensions.dimension;
 
 import de.tecca.ultimatedimensions.UltimateDimensions;
+import de.tecca.ultimatedimensions.generator.BatchNoise;
+import de.tecca.ultimatedimensions.generator.CacheBudget;
+import de.tecca.ultimatedimensions.generator.CaveDensityGrid;
+import de.tecca.ultimatedimensions.generator.CaveGridVerifier;
+import de.tecca.ultimatedimensions.generator.ChunkBlockBuffer;
+import de.tecca.ultimatedimensions.generator.ChunkHeightmap;
+import de.tecca.ultimatedimensions.generator.ChunkSurface;
 import de.tecca.ultimatedimensions.generator.ChunkZoneCache;
+import de.tecca.ultimatedimensions.generator.LongClockCache;
+import de.tecca.ultimatedimensions.generator.NoiseBank;
+import de.tecca.ultimatedimensions.generator.OctaveNoise;
+import de.tecca.ultimatedimensions.generator.TerrainConstants;
+import de.tecca.ultimatedimensions.metrics.ChunkPhaseEvent;
+import de.tecca.ultimatedimensions.metrics.GenerationMetrics;
+import de.tecca.ultimatedimensions.metrics.SlowChunkEvent;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.generator.BiomeProvider;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.generator.WorldInfo;
-import org.bukkit.util.noise.SimplexOctaveGenerator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
+import java.nio.file.Path;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
 
 public abstract class BaseDimensionGenerator extends ChunkGenerator {
 
+    // Chunks zwischen Noise- und Surface-Stufe; läuft der Puffer über, wird im Surface-Pass gescannt
+    private static final int SURFACE_HANDOFF_CAPACITY = 2048;
+
+    private static final double DEFAULT_SLOW_CHUNK_MS = 50.0;
+
     protected final UltimateDimensions plugin;
     protected final DimensionConfig config;
     protected final long seed;
-    protected final Map<Long, SimplexOctaveGenerator> noiseCache;
-    protected ChunkZoneCache zoneCache;
+    protected final TerrainConstants constants;
+    protected final NoiseBank noiseBank;
+    protected final BatchNoise batchNoise = BatchNoise.get();
+    protected final CaveDensityGrid.Resolution caveResolution;
+    protected final CaveGridVerifier caveVerifier;
+    protected final boolean interpolateHeightmap;
+    protected final int zoneCacheCapacity;
+    protected final boolean persistZoneMap;
+    protected final GenerationMetrics metrics = new GenerationMetrics();
+    private final long slowChunkNanos;
+    // null ohne Server (Benchmarks), dann bleiben alle Caches bei ihrer konfigurierten Größe
+    @Nullable
+    private final CacheBudget cacheBudget;
+
+    // Wird einmalig per CAS veröffentlicht, danach nur noch gelesen (Worldgen läuft auf mehreren Threads)
+    private final AtomicReference<ChunkZoneCache> zoneCache = new AtomicReference<>();
+
+    // Chunk-lokale Puffer pro Worldgen-Thread, werden für jeden Chunk komplett neu befüllt
+    private final ThreadLocal<CaveDensityGrid> caveGrids;
+    private final ThreadLocal<ChunkHeightmap> heightmaps;
+    private final ThreadLocal<ChunkBlockBuffer> blockBuffers = ThreadLocal.withInitial(ChunkBlockBuffer::new);
+
+    private final LongClockCache<ChunkSurface> surfaces = new LongClockCache<>(SURFACE_HANDOFF_CAPACITY);
 
     public BaseDimensionGenerator(UltimateDimensions plugin, DimensionConfig config, long seed) {
+        this(plugin, config, seed, TerrainConstants.createDefault());
+    }
+
+    protected BaseDimensionGenerator(UltimateDimensions plugin, DimensionConfig config, long seed,
+                                     TerrainConstants constants) {
         this.plugin = plugin;
         this.config = config;
         this.seed = seed;
-        this.noiseCache = new ConcurrentHashMap<>();
+        this.constants = constants;
+        this.noiseBank = new NoiseBank(seed, constants.noise,
+                OctaveNoise.Mode.parse(String.valueOf(config.getSetting("noise_kernel", "compat"))));
+        this.caveResolution = CaveDensityGrid.Resolution.parse(
+                String.valueOf(config.getSetting("cave_grid", "exact")));
+
+        boolean verifyCaves = Boolean.parseBoolean(String.valueOf(config.getSetting("cave_grid_verify", false)));
+        this.caveVerifier = verifyCaves && !caveResolution.isExact()
+                ? new CaveGridVerifier(logger(), config.getId())
+                : null;
+
+        // "interpolated" tastet Boden/Decke auf einem 5x5-Eckgitter ab, "exact" jede Spalte
+        this.interpolateHeightmap = "interpolated".equalsIgnoreCase(
+                String.valueOf(config.getSetting("heightmap", "exact")));
+
+        this.zoneCacheCapacity = Integer.parseInt(String.valueOf(
+                config.getSetting("zone_cache_capacity", ChunkZoneCache.DEFAULT_CAPACITY)));
+        this.persistZoneMap = Boolean.parseBoolean(String.valueOf(config.getSetting("zone_map", false)));
+        this.slowChunkNanos = (long) ((plugin != null
+                ? plugin.getConfig().getDouble("metrics.slow_chunk_ms", DEFAULT_SLOW_CHUNK_MS)
+                : DEFAULT_SLOW_CHUNK_MS) * 1_000_000);
+
+        this.caveGrids = ThreadLocal.withInitial(() -> new CaveDensityGrid(caveResolution, batchNoise));
+        this.heightmaps = ThreadLocal.withInitial(() -> new ChunkHeightmap(interpolateHeightmap, batchNoise));
+
+        this.cacheBudget = plugin != null ? plugin.getCacheBudget() : null;
+        registerCache("surfaces", surfaces, ChunkSurface.ESTIMATED_BYTES);
     }
 
     @Override
@@ -37,11 +110,18 @@ public abstract class BaseDimensionGenerator extends ChunkGenerator {
     public void generateNoise(@NotNull WorldInfo worldInfo, @NotNull Random random,
                               int chunkX, int chunkZ, @NotNull ChunkData chunkData) {
 
-        if (zoneCache == null && getDefaultBiomeProvider(worldInfo) != null) {
-            initializeZoneCache(worldInfo);
+        if (zoneCache.get() == null && getDefaultBiomeProvider(worldInfo) != null) {
+            ChunkZoneCache created = createZoneCache(worldInfo);
+            if (created != null && zoneCache.compareAndSet(null, created)) {
+                registerCache("zones", created.getCache(), ChunkZoneCache.ENTRY_BYTES);
+            }
         }
 
+        ChunkPhaseEvent event = new ChunkPhaseEvent();
+        event.begin();
+        long start = System.nanoTime();
         generateTerrainNoise(worldInfo, random, chunkX, chunkZ, chunkData);
+        finishPhase(GenerationMetrics.Phase.NOISE, event, start, worldInfo, chunkX, chunkZ);
     }
 
     protected abstract void generateTerrainNoise(WorldInfo worldInfo, Random random,
@@ -50,7 +130,11 @@ public abstract class BaseDimensionGenerator extends ChunkGenerator {
     @Override
     public void generateSurface(@NotNull WorldInfo worldInfo, @NotNull Random random,
                                 int chunkX, int chunkZ, @NotNull ChunkData chunkData) {
+        ChunkPhaseEvent event = new ChunkPhaseEvent();
+        event.begin();
+        long start = System.nanoTime();
         generateSurfaceFeatures(worldInfo, random, chunkX, chunkZ, chunkData);
+        finishPhase(GenerationMetrics.Phase.SURFACE, event, start, worldInfo, chunkX, chunkZ);
     }
 
     protected abstract void generateSurfaceFeatures(WorldInfo worldInfo, Random random,
@@ -60,45 +144,174 @@ public abstract class BaseDimensionGenerator extends ChunkGenerator {
     public void generateBedrock(@NotNull WorldInfo worldInfo, @NotNull Random random,
                                 int chunkX, int chunkZ, @NotNull ChunkData chunkData) {
 
+        ChunkPhaseEvent event = new ChunkPhaseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        BlockData bedrock = ChunkBlockBuffer.blockData(Material.BEDROCK);
+        chunkData.setRegion(0, chunkData.getMinHeight(), 0, 16, chunkData.getMinHeight() + 1, 16, bedrock);
+
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                chunkData.setBlock(x, chunkData.getMinHeight(), z, Material.BEDROCK);
-
                 int topBedrock = chunkData.getMaxHeight() - random.nextInt(5) - 1;
                 for (int y = topBedrock; y < chunkData.getMaxHeight(); y++) {
                     if (random.nextInt(chunkData.getMaxHeight() - y) < 3) {
-                        chunkData.setBlock(x, y, z, Material.BEDROCK);
+                        chunkData.setBlock(x, y, z, bedrock);
                     }
                 }
             }
         }
+        finishPhase(GenerationMetrics.Phase.BEDROCK, event, start, worldInfo, chunkX, chunkZ);
+    }
+
+    // Histogramm immer, JFR-Events nur bei laufender Aufnahme (sonst bleibt es bei isEnabled/shouldCommit)
+    private void finishPhase(GenerationMetrics.Phase phase, ChunkPhaseEvent event, long start,
+                             WorldInfo worldInfo, int chunkX, int chunkZ) {
+        long duration = System.nanoTime() - start;
+        metrics.get(phase).record(duration);
+
+        event.end();
+        String zone = null;
+        if (event.shouldCommit()) {
+            zone = dominantZone(worldInfo, chunkX, chunkZ);
+            event.world = worldInfo.getName();
+            event.chunkX = chunkX;
+            event.chunkZ = chunkZ;
+            event.phase = phase.getKey();
+            event.zone = zone;
+            event.commit();
+        }
+
+        if (duration >= slowChunkNanos) {
+            SlowChunkEvent slow = new SlowChunkEvent();
+            if (slow.isEnabled()) {
+                slow.world = worldInfo.getName();
+                slow.chunkX = chunkX;
+                slow.chunkZ = chunkZ;
+                slow.stage = phase.getKey();
+                slow.zone = zone != null ? zone : dominantZone(worldInfo, chunkX, chunkZ);
+                slow.stageDuration = duration;
+                slow.threshold = slowChunkNanos;
+                slow.commit();
+            }
+        }
+    }
+
+    @Nullable
+    private String dominantZone(WorldInfo worldInfo, int chunkX, int chunkZ) {
+        ChunkZoneCache cache = zoneCache.get();
+        if (cache == null || !(getDefaultBiomeProvider(worldInfo) instanceof BaseBiomeProvider biomes)) {
+            return null;
+        }
+        return biomes.getZoneTypeName(cache.getZoneData((chunkX << 4) + 8, (chunkZ << 4) + 8).zoneType());
+    }
+
+    // Legt die Zonenkarte im Weltordner ab: <welt>/ultimatedimensions/zones/r.<x>.<z>.zmap
+    // Bei geteilten Generatoren im Ordner der ersten Welt, der Inhalt hängt nur vom Seed ab
+    protected void attachZoneMap(BaseBiomeProvider provider, WorldInfo worldInfo) {
+        if (!persistZoneMap) {
+            return;
+        }
+
+        Path directory = Bukkit.getWorldContainer().toPath()
+                .resolve(worldInfo.getName())
+                .resolve("ultimatedimensions")
+                .resolve("zones");
+        provider.attachZoneMap(new ZoneMap(directory, worldInfo.getSeed()), logger());
     }
 
-    protected SimplexOctaveGenerator getNoiseGenerator(long baseSeed, double scale) {
-        long finalSeed = seed + baseSeed;
-        return noiseCache.computeIfAbsent(finalSeed, s -> {
-            SimplexOctaveGenerator gen = new SimplexOctaveGenerator(new Random(s), 6);
-            gen.setScale(scale);
-            return gen;
-        });
+    // Einmal pro Provider, nach dem gewonnenen CAS
+    protected void attachProvider(BaseBiomeProvider provider, WorldInfo worldInfo) {
+        provider.attachMetrics(metrics);
+        registerCache("zone_tiles", provider.getTileCache(), BaseBiomeProvider.TILE_BYTES);
+        attachZoneMap(provider, worldInfo);
     }
 
-    protected boolean generateCaves(ChunkData chunkData, int x, int y, int z,
-                                    int absX, int absZ, SimplexOctaveGenerator caveNoise,
+    protected void registerCache(String name, LongClockCache<?> cache, int entryBytes) {
+        if (cacheBudget != null) {
+            cacheBudget.register(this, name, cache, entryBytes);
+        }
+    }
+
+    // Wenn keine Welt den Generator mehr nutzt; die Caches zählen dann nicht mehr gegen das Budget
+    public void unregisterCaches() {
+        if (cacheBudget != null) {
+            cacheBudget.unregister(this);
+        }
+    }
+
+    // plugin ist null, wenn der Generator ohne Server läuft (Benchmarks)
+    protected Logger logger() {
+        return plugin != null ? plugin.getLogger() : Logger.getLogger(getClass().getSimpleName());
+    }
+
+    protected OctaveNoise getNoiseGenerator(long baseSeed, double scale) {
+        return noiseBank.get(baseSeed, scale);
+    }
+
+    protected ChunkBlockBuffer scratchBlocks(ChunkData chunkData) {
+        ChunkBlockBuffer buffer = blockBuffers.get();
+        buffer.reset(chunkData.getMinHeight(), chunkData.getMaxHeight());
+        return buffer;
+    }
+
+    // Geteilte Generatoren teilen sich den Puffer; Welten mit gleichem Seed liefern dieselbe Oberfläche,
+    // im schlimmsten Fall fällt der Surface-Pass auf das eigene Abtasten zurück
+    protected void handOffSurface(int chunkX, int chunkZ, ChunkSurface surface) {
+        surfaces.put(ChunkSurface.key(chunkX, chunkZ), surface);
+    }
+
+    // null, wenn der Chunk nicht in dieser Sitzung durch den Noise-Pass lief oder verdrängt wurde
+    @Nullable
+    protected ChunkSurface takeSurface(int chunkX, int chunkZ) {
+        return surfaces.remove(ChunkSurface.key(chunkX, chunkZ));
+    }
+
+    protected ChunkHeightmap scratchHeightmap() {
+        return heightmaps.get();
+    }
+
+    protected CaveDensityGrid prepareCaveGrid(OctaveNoise caveNoise, int chunkX, int chunkZ,
+                                              ChunkData chunkData) {
+        CaveDensityGrid grid = caveGrids.get();
+        grid.fill(caveNoise, chunkX * 16, chunkZ * 16, chunkData.getMinHeight(), chunkData.getMaxHeight());
+        return grid;
+    }
+
+    protected void finishCaveGrid() {
+        if (caveVerifier != null) {
+            caveVerifier.chunkFinished();
+        }
+    }
+
+    // Gleiche Höhengrenzen wie generateCaves, damit nur tatsächlich geprüfte Blöcke ausgewertet werden
+    protected void prepareCaveColumn(ChunkData chunkData, CaveDensityGrid caveGrid, int x, int z,
+                                     int floorHeight, boolean isCeiling, double caveThreshold) {
+        if (isCeiling) {
+            caveGrid.loadColumn(x, z, floorHeight, chunkData.getMaxHeight() - 10, caveThreshold);
+        } else {
+            caveGrid.loadColumn(x, z, chunkData.getMinHeight() + 6, floorHeight - 3, caveThreshold);
+        }
+    }
+
+    protected boolean generateCaves(ChunkData chunkData, CaveDensityGrid caveGrid, int x, int y, int z,
                                     int floorHeight, boolean isCeiling, double caveThreshold) {
 
-        double caveValue = caveNoise.noise(absX, y, absZ, 0.5, 0.5, true);
+        if (caveVerifier != null) {
+            caveVerifier.record(caveGrid.density(x, y, z), caveGrid.exactDensity(x, y, z), caveThreshold);
+        }
 
+        // Höhenprüfung zuerst, damit außerhalb des Bereichs kein Noise ausgewertet wird
         if (isCeiling) {
-            return caveValue > caveThreshold && y < chunkData.getMaxHeight() - 10;
+            return y < chunkData.getMaxHeight() - 10 && caveGrid.exceeds(x, y, z, caveThreshold);
         }
 
-        return caveValue > caveThreshold &&
-                y > chunkData.getMinHeight() + 5 &&
-                y < floorHeight - 3;
+        return y > chunkData.getMinHeight() + 5 &&
+                y < floorHeight - 3 &&
+                caveGrid.exceeds(x, y, z, caveThreshold);
     }
 
-    protected abstract void initializeZoneCache(WorldInfo worldInfo);
+    @Nullable
+    protected abstract ChunkZoneCache createZoneCache(WorldInfo worldInfo);
 
     @Override public boolean shouldGenerateNoise() { return false; }
     @Override public boolean shouldGenerateSurface() { return false; }
@@ -108,5 +321,9 @@ public abstract class BaseDimensionGenerator extends ChunkGenerator {
     @Override public boolean shouldGenerateMobs() { return config.hasFeature("mobs"); }
 
     public DimensionConfig getConfig() { return config; }
-    public ChunkZoneCache getZoneCache() { return zoneCache; }
+    public long getSeed() { return seed; }
+    public TerrainConstants getConstants() { return constants; }
+    public NoiseBank getNoiseBank() { return noiseBank; }
+    public ChunkZoneCache getZoneCache() { return zoneCache.get(); }
+    public GenerationMetrics getMetrics() { return metrics; }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class DimensionConfig {
 
@@ -104,4 +105,9 @@ public class DimensionConfig {
     public Object getSetting(String key, Object defaultValue) {
         return customSettings.getOrDefault(key, defaultValue);
     }
+
+    // Alles, was die Generierung beeinflusst; der Anzeigename gehört nicht dazu
+    public int contentHash() {
+        return Objects.hash(id, generatorClass, environment, features, customSettings);
+    }
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ import de.tecca.ultimatedimensions.UltimateDimensions;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
-import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,10 +13,12 @@ public class DimensionRegistry {
     private static DimensionRegistry instance;
     private final UltimateDimensions plugin;
     private final Map<String, DimensionConfig> dimensions;
+    private final GeneratorFactory generators;
 
     private DimensionRegistry(UltimateDimensions plugin) {
         this.plugin = plugin;
         this.dimensions = new HashMap<>();
+        this.generators = new GeneratorFactory(plugin);
     }
 
     public static void initialize(UltimateDimensions plugin) {
@@ -63,24 +64,21 @@ public class DimensionRegistry {
         return dimensions.keySet();
     }
 
+    // Geteilter Generator, muss mit releaseGenerator zurückgegeben werden (passiert beim Entladen der Welt)
     public BaseDimensionGenerator createGenerator(String dimensionId, long seed) {
         DimensionConfig config = getDimension(dimensionId);
         if (config == null) {
             throw new IllegalArgumentException("Unknown dimension: " + dimensionId);
         }
+        return generators.acquire(config, seed);
+    }
 
-        Class<? extends BaseDimensionGenerator> generatorClass = config.getGeneratorClass();
-        if (generatorClass == null) {
-            throw new IllegalStateException("No generator class defined for dimension: " + dimensionId);
-        }
+    public void releaseGenerator(BaseDimensionGenerator generator) {
+        generators.release(generator);
+    }
 
-        try {
-            Constructor<? extends BaseDimensionGenerator> constructor =
-                    generatorClass.getConstructor(UltimateDimensions.class, DimensionConfig.class, long.class);
-            return constructor.newInstance(plugin, config, seed);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create generator for dimension: " + dimensionId, e);
-        }
+    public GeneratorFactory getGeneratorFactory() {
+        return generators;
     }
 
     public void loadFromConfig(FileConfiguration config) {
@@ -0,0 +1,127 @@
+package de.tecca.ultimatedimensions.dimension;
+
+import de.tecca.ultimatedimensions.UltimateDimensions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Teilt Generatoren zwischen Welten mit gleichem Dimensions-Typ, Seed und Konfiguration (z.B. geklonte Arenen).
+// Noise-Bank, TerrainConstants, Biome-Provider und Zonen-Cache hängen nur davon ab und sind thread-safe.
+// Jede Welt hält eine Referenz; der letzte release() gibt den Generator frei.
+public class GeneratorFactory {
+
+    @FunctionalInterface
+    public interface Creator {
+        BaseDimensionGenerator create(UltimateDimensions plugin, DimensionConfig config, long seed);
+    }
+
+    private record Key(String dimensionId, long seed, int configHash) {
+    }
+
+    private static final class Core {
+        private final Key key;
+        private final BaseDimensionGenerator generator;
+        private int references;
+
+        private Core(Key key, BaseDimensionGenerator generator) {
+            this.key = key;
+            this.generator = generator;
+        }
+    }
+
+    private static final MethodType CONSTRUCTOR_TYPE =
+            MethodType.methodType(void.class, UltimateDimensions.class, DimensionConfig.class, long.class);
+
+    private final UltimateDimensions plugin;
+    private final Map<Class<? extends BaseDimensionGenerator>, Creator> creators = new ConcurrentHashMap<>();
+
+    // Nur unter dem Monitor dieser Instanz
+    private final Map<Key, Core> cores = new HashMap<>();
+    private final Map<BaseDimensionGenerator, Core> byGenerator = new IdentityHashMap<>();
+
+    public GeneratorFactory(UltimateDimensions plugin) {
+        this.plugin = plugin;
+    }
+
+    // Eingebaute Dimensionen registrieren ihren Konstruktor direkt, alle anderen werden einmal per MethodHandle aufgelöst
+    public <T extends BaseDimensionGenerator> void register(Class<T> generatorClass, Creator creator) {
+        creators.put(generatorClass, creator);
+    }
+
+    public synchronized BaseDimensionGenerator acquire(DimensionConfig config, long seed) {
+        Key key = new Key(config.getId(), seed, config.contentHash());
+        Core core = cores.get(key);
+        if (core == null) {
+            BaseDimensionGenerator generator = creatorFor(config).create(plugin, config, seed);
+            core = new Core(key, generator);
+            cores.put(key, core);
+            byGenerator.put(generator, core);
+        }
+        core.references++;
+        return core.generator;
+    }
+
+    // Zusätzliche Referenz auf einen bereits vergebenen Generator; false, wenn er nicht von hier stammt
+    public synchronized boolean retain(BaseDimensionGenerator generator) {
+        Core core = byGenerator.get(generator);
+        if (core == null) {
+            return false;
+        }
+        core.references++;
+        return true;
+    }
+
+    public synchronized void release(BaseDimensionGenerator generator) {
+        Core core = byGenerator.get(generator);
+        if (core == null || --core.references > 0) {
+            return;
+        }
+        byGenerator.remove(generator);
+        cores.remove(core.key);
+        generator.unregisterCaches();
+    }
+
+    public synchronized int getReferences(BaseDimensionGenerator generator) {
+        Core core = byGenerator.get(generator);
+        return core != null ? core.references : 0;
+    }
+
+    public synchronized int size() {
+        return cores.size();
+    }
+
+    private Creator creatorFor(DimensionConfig config) {
+        Class<? extends BaseDimensionGenerator> generatorClass = config.getGeneratorClass();
+        if (generatorClass == null) {
+            throw new IllegalStateException("No generator class defined for dimension: " + config.getId());
+        }
+        return creators.computeIfAbsent(generatorClass, GeneratorFactory::constructorHandle);
+    }
+
+    private static Creator constructorHandle(Class<? extends BaseDimensionGenerator> generatorClass) {
+        MethodHandle constructor;
+        try {
+            constructor = MethodHandles.publicLookup().findConstructor(generatorClass, CONSTRUCTOR_TYPE)
+                    .asType(MethodType.methodType(BaseDimensionGenerator.class,
+                            UltimateDimensions.class, DimensionConfig.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No public (UltimateDimensions, DimensionConfig, long) constructor in "
+                    + generatorClass.getName(), e);
+        }
+
+        return (plugin, config, seed) -> {
+            try {
+                return (BaseDimensionGenerator) constructor.invokeExact(plugin, config, seed);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException("Failed to create generator for dimension: " + config.getId(), t);
+            }
+        };
+    }
+}
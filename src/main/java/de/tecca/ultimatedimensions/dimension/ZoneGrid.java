@@ -0,0 +1,61 @@
+package de.tecca.ultimatedimensions.dimension;
+
+// Zonen-Abtastung eines Rasters in einem Durchlauf: Typ, Übergang und Dichte
+// als primitive Arrays, ein Noise-Aufruf pro Punkt, keine Objekte pro Punkt.
+public final class ZoneGrid {
+
+    private final int width;
+    private final int depth;
+    private final byte[] zoneTypes;
+    private final double[] blends;
+    private final double[] densities;
+
+    private int originX;
+    private int originZ;
+    private int step = 1;
+
+    public ZoneGrid(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Invalid zone grid size: " + width + "x" + depth);
+        }
+
+        this.width = width;
+        this.depth = depth;
+        this.zoneTypes = new byte[width * depth];
+        this.blends = new double[width * depth];
+        this.densities = new double[width * depth];
+    }
+
+    void reset(int originX, int originZ, int step) {
+        this.originX = originX;
+        this.originZ = originZ;
+        this.step = step;
+    }
+
+    void set(int index, int zoneType, double blend, double density) {
+        zoneTypes[index] = (byte) zoneType;
+        blends[index] = blend;
+        densities[index] = density;
+    }
+
+    public int index(int gridX, int gridZ) {
+        return gridX * depth + gridZ;
+    }
+
+    // Rasterpunkt, in dessen Zelle die Blockkoordinate liegt
+    public int indexAt(int x, int z) {
+        int gridX = Math.floorDiv(x - originX, step);
+        int gridZ = Math.floorDiv(z - originZ, step);
+        return index(Math.min(Math.max(gridX, 0), width - 1), Math.min(Math.max(gridZ, 0), depth - 1));
+    }
+
+    public int zoneType(int index) { return zoneTypes[index]; }
+    public double blend(int index) { return blends[index]; }
+    public double density(int index) { return densities[index]; }
+
+    public int getWidth() { return width; }
+    public int getDepth() { return depth; }
+    public int getOriginX() { return originX; }
+    public int getOriginZ() { return originZ; }
+    public int getStep() { return step; }
+}
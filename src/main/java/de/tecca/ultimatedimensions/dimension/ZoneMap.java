@@ -0,0 +1,130 @@
+package de.tecca.ultimatedimensions.dimension;
+
+import de.tecca.ultimatedimensions.generator.LongClockCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Persistente Zonenkarte einer Welt: pro Region (32x32 Chunks) eine Datei mit einem Byte
+// pro 4x4-Spalte, gelesen und geschrieben über memory-mapped Buffer (off-heap).
+// Byte-Format: Bit 7 = belegt, Bit 5-6 = Zonentyp, Bit 0-4 = quantisierter Übergang.
+public final class ZoneMap {
+
+    public static final int DEFAULT_REGION_CAPACITY = 256;
+
+    private static final int MAGIC = 0x555A4D50; // "UZMP"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+
+    private static final int REGION_QUARTS = 128;
+    private static final int REGION_BYTES = REGION_QUARTS * REGION_QUARTS;
+
+    private static final int PRESENT = 0x80;
+    private static final int MAX_ZONE_TYPE = 3;
+    private static final int BLEND_STEPS = 31;
+
+    private final Path directory;
+    private final long seed;
+
+    // Verdrängte Mappings werden vor dem Freigeben durch den GC auf die Platte geschrieben
+    private final LongClockCache<MappedByteBuffer> regions;
+    // Anlegen neuer Dateien: getOrCompute mappt ohne Lock, zwei Threads dürfen eine frische Datei nicht
+    // beide initialisieren (der spätere würde die Schreibzugriffe des früheren wieder nullen)
+    private final Object fileLock = new Object();
+
+    public ZoneMap(Path directory, long seed) {
+        this(directory, seed, DEFAULT_REGION_CAPACITY);
+    }
+
+    public ZoneMap(Path directory, long seed, int regionCapacity) {
+        this.directory = directory;
+        this.seed = seed;
+        this.regions = new LongClockCache<>(regionCapacity, MappedByteBuffer::force);
+    }
+
+    public static byte encode(int zoneType, double blend) {
+        if (zoneType < 0 || zoneType > MAX_ZONE_TYPE) {
+            return 0;
+        }
+        int quantised = (int) Math.round(Math.max(0.0, Math.min(1.0, blend)) * BLEND_STEPS);
+        return (byte) (PRESENT | (zoneType << 5) | quantised);
+    }
+
+    public static boolean isPresent(byte value) {
+        return (value & PRESENT) != 0;
+    }
+
+    public static int zoneType(byte value) {
+        return (value >> 5) & MAX_ZONE_TYPE;
+    }
+
+    public static double blend(byte value) {
+        return (value & BLEND_STEPS) / (double) BLEND_STEPS;
+    }
+
+    // 0 = noch nicht abgetastet
+    public byte get(int quartX, int quartZ) {
+        MappedByteBuffer region = region(quartX >> 7, quartZ >> 7);
+        return region.get(offset(quartX, quartZ));
+    }
+
+    // Worldgen-Threads schreiben ggf. dieselbe Zelle parallel, aber immer denselben (deterministischen) Wert
+    public void put(int quartX, int quartZ, byte value) {
+        MappedByteBuffer region = region(quartX >> 7, quartZ >> 7);
+        region.put(offset(quartX, quartZ), value);
+    }
+
+    public void flush() {
+        regions.forEach(MappedByteBuffer::force);
+    }
+
+    public int getLoadedRegions() {
+        return regions.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static int offset(int quartX, int quartZ) {
+        return HEADER + ((quartX & (REGION_QUARTS - 1)) << 7 | (quartZ & (REGION_QUARTS - 1)));
+    }
+
+    private MappedByteBuffer region(int regionX, int regionZ) {
+        long key = ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+        return regions.getOrCompute(key, k -> map(regionX, regionZ));
+    }
+
+    private MappedByteBuffer map(int regionX, int regionZ) {
+        Path file = directory.resolve("r." + regionX + "." + regionZ + ".zmap");
+
+        synchronized (fileLock) {
+            try {
+                Files.createDirectories(directory);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+                    // Das Mapping bleibt nach dem Schließen des Channels gültig
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + REGION_BYTES);
+                    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != seed) {
+                        // Neue Datei oder anderer Seed/Format: Inhalt verwerfen
+                        ByteBuffer zeros = ByteBuffer.allocate(REGION_BYTES);
+                        buffer.put(HEADER, zeros, 0, REGION_BYTES);
+                        buffer.putInt(0, MAGIC);
+                        buffer.putInt(4, VERSION);
+                        buffer.putLong(8, seed);
+                    }
+                    return buffer;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Zonenkarte nicht lesbar: " + file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package de.tecca.ultimatedimensions.dimension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+// Sucht die nächste Stelle eines Zonentyps nur über das Zonen-Noise, es werden keine Chunks geladen.
+// Grob: quadratische Ringe im COARSE_STEP-Raster, wellenweise parallel auf einem eigenen Fork-Join-Pool.
+// Fein: Umgebung des besten Treffers im Quart-Raster.
+public final class ZoneSearch {
+
+    public static final int DEFAULT_RADIUS = 5000;
+    public static final int MAX_RADIUS = 20000;
+
+    private static final int COARSE_STEP = 32;
+    private static final int FINE_STEP = 4;
+    private static final int RINGS_PER_TASK = 4;
+
+    // Suchen starten von der Mitte einer 64er-Zelle, damit nahe beieinander liegende Anfragen den Cache treffen
+    private static final int CELL_SHIFT = 6;
+    private static final int CACHE_SIZE = 128;
+
+    public record Result(int x, int z) {
+        public double distance(double fromX, double fromZ) {
+            double dx = x - fromX;
+            double dz = z - fromZ;
+            return Math.sqrt(dx * dx + dz * dz);
+        }
+    }
+
+    private record Key(UUID world, int zoneType, int cellX, int cellZ, int radius) {}
+
+    private final ForkJoinPool pool;
+    private final int wave;
+
+    private final Map<Key, CompletableFuture<Optional<Result>>> recent =
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<Optional<Result>>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    public ZoneSearch(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("UltimateDimensions-ZoneSearch-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.wave = parallelism * RINGS_PER_TASK;
+    }
+
+    public CompletableFuture<Optional<Result>> find(UUID world, BaseBiomeProvider provider, int zoneType,
+                                                    int x, int z, int radius) {
+
+        int clamped = Math.max(COARSE_STEP, Math.min(radius, MAX_RADIUS));
+        Key key = new Key(world, zoneType, x >> CELL_SHIFT, z >> CELL_SHIFT, clamped);
+
+        CompletableFuture<Optional<Result>> future;
+        synchronized (recent) {
+            future = recent.get(key);
+            if (future != null && !future.isCompletedExceptionally()) {
+                return future;
+            }
+
+            int originX = (key.cellX() << CELL_SHIFT) + (1 << (CELL_SHIFT - 1));
+            int originZ = (key.cellZ() << CELL_SHIFT) + (1 << (CELL_SHIFT - 1));
+            future = CompletableFuture.supplyAsync(
+                    () -> Optional.ofNullable(search(provider, zoneType, originX, originZ, clamped)), pool);
+            recent.put(key, future);
+        }
+        return future;
+    }
+
+    public void invalidate(UUID world) {
+        synchronized (recent) {
+            recent.keySet().removeIf(key -> key.world().equals(world));
+        }
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+
+    private Result search(BaseBiomeProvider provider, int zoneType, int originX, int originZ, int radius) {
+        if (provider.sampleZoneType(originX, originZ) == zoneType) {
+            return refine(provider, zoneType, originX, originZ, originX, originZ);
+        }
+
+        int rings = radius / COARSE_STEP;
+        Hit best = null;
+
+        for (int first = 1; first <= rings; first += wave) {
+            int last = Math.min(rings, first + wave - 1);
+            best = Hit.closer(best, new RingTask(provider, zoneType, originX, originZ, radius, first, last).invoke());
+
+            // Ring r liegt mindestens r * COARSE_STEP vom Ursprung entfernt
+            if (best != null && best.distanceSq <= square((long) (last + 1) * COARSE_STEP)) {
+                break;
+            }
+        }
+
+        return best == null ? null : refine(provider, zoneType, originX, originZ, best.x, best.z);
+    }
+
+    // Die Zonengrenze Richtung Ursprung liegt höchstens einen Grobschritt vom Treffer entfernt
+    private Result refine(BaseBiomeProvider provider, int zoneType, int originX, int originZ, int hitX, int hitZ) {
+        int baseX = (hitX - COARSE_STEP) & ~(FINE_STEP - 1);
+        int baseZ = (hitZ - COARSE_STEP) & ~(FINE_STEP - 1);
+        int samples = 2 * COARSE_STEP / FINE_STEP + 1;
+
+        Hit best = new Hit(hitX, hitZ, distanceSq(hitX, hitZ, originX, originZ));
+        for (int i = 0; i < samples; i++) {
+            int x = baseX + i * FINE_STEP;
+            for (int j = 0; j < samples; j++) {
+                int z = baseZ + j * FINE_STEP;
+                long distanceSq = distanceSq(x, z, originX, originZ);
+                if (distanceSq < best.distanceSq && provider.sampleZoneType(x, z) == zoneType) {
+                    best = new Hit(x, z, distanceSq);
+                }
+            }
+        }
+        return new Result(best.x, best.z);
+    }
+
+    private static long distanceSq(int x, int z, int originX, int originZ) {
+        return square(x - originX) + square(z - originZ);
+    }
+
+    private static long square(long value) {
+        return value * value;
+    }
+
+    private record Hit(int x, int z, long distanceSq) {
+        static Hit closer(Hit a, Hit b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return b.distanceSq < a.distanceSq ? b : a;
+        }
+    }
+
+    // Teilt einen Ringbereich rekursiv auf, bis höchstens RINGS_PER_TASK Ringe übrig sind
+    private static final class RingTask extends RecursiveTask<Hit> {
+
+        private final BaseBiomeProvider provider;
+        private final int zoneType;
+        private final int originX;
+        private final int originZ;
+        private final long radiusSq;
+        private final int first;
+        private final int last;
+
+        RingTask(BaseBiomeProvider provider, int zoneType, int originX, int originZ, int radius,
+                 int first, int last) {
+            this(provider, zoneType, originX, originZ, square(radius), first, last);
+        }
+
+        private RingTask(BaseBiomeProvider provider, int zoneType, int originX, int originZ, long radiusSq,
+                         int first, int last) {
+            this.provider = provider;
+            this.zoneType = zoneType;
+            this.originX = originX;
+            this.originZ = originZ;
+            this.radiusSq = radiusSq;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected Hit compute() {
+            if (last - first < RINGS_PER_TASK) {
+                Hit best = null;
+                for (int ring = first; ring <= last; ring++) {
+                    best = Hit.closer(best, scanRing(ring));
+                }
+                return best;
+            }
+
+            int middle = (first + last) >>> 1;
+            RingTask inner = new RingTask(provider, zoneType, originX, originZ, radiusSq, first, middle);
+            RingTask outer = new RingTask(provider, zoneType, originX, originZ, radiusSq, middle + 1, last);
+            inner.fork();
+            Hit outerHit = outer.compute();
+            return Hit.closer(inner.join(), outerHit);
+        }
+
+        private Hit scanRing(int ring) {
+            Hit best = null;
+            for (int i = -ring; i <= ring; i++) {
+                best = sample(best, i, -ring);
+                best = sample(best, i, ring);
+            }
+            for (int i = -ring + 1; i < ring; i++) {
+                best = sample(best, -ring, i);
+                best = sample(best, ring, i);
+            }
+            return best;
+        }
+
+        private Hit sample(Hit best, int stepX, int stepZ) {
+            int x = originX + stepX * COARSE_STEP;
+            int z = originZ + stepZ * COARSE_STEP;
+            long distanceSq = distanceSq(x, z, originX, originZ);
+
+            if (distanceSq > radiusSq || (best != null && distanceSq >= best.distanceSq)) {
+                return best;
+            }
+            return provider.sampleZoneType(x, z) == zoneType ? new Hit(x, z, distanceSq) : best;
+        }
+    }
+}
@@ -19,11 +19,14 @@ public class AmethystBiomeProvider extends BaseBiomeProvider {
         super(seed);
     }
 
+    public AmethystBiomeProvider(long seed, int tileCapacity) {
+        super(seed, tileCapacity);
+    }
+
     @NotNull
     @Override
     public Biome getBiome(@NotNull WorldInfo worldInfo, int x, int y, int z) {
-        int zoneType = getZoneType(x, z);
-        return switch (zoneType) {
+        return switch (getZoneType(x, z)) {
             case 1 -> BIOME_GEODE;
             case 2 -> BIOME_CRYSTAL;
             case 3 -> BIOME_DEEP;
@@ -38,9 +41,12 @@ public class AmethystBiomeProvider extends BaseBiomeProvider {
     }
 
     @Override
-    public int getZoneType(int x, int z) {
-        double combined = getCombinedNoise(x, z);
+    public int getZoneCount() {
+        return 4;
+    }
 
+    @Override
+    protected int zoneType(double combined) {
         if (combined < -0.5) {
             return 2; // Crystal
         } else if (combined >= -0.1 && combined < 0.35) {
@@ -53,10 +59,7 @@ public class AmethystBiomeProvider extends BaseBiomeProvider {
     }
 
     @Override
-    public double getZoneBlend(int x, int z) {
-        double combined = getCombinedNoise(x, z);
-        int zoneType = getZoneType(x, z);
-
+    protected double zoneBlend(double combined, int zoneType) {
         double distance = switch (zoneType) {
             case 0 -> Math.abs(combined - 0.2);
             case 1 -> Math.abs(combined - 0.12);
@@ -69,9 +72,8 @@ public class AmethystBiomeProvider extends BaseBiomeProvider {
     }
 
     @Override
-    public String getZoneName(int x, int z) {
-        int zone = getZoneType(x, z);
-        return switch (zone) {
+    protected String zoneName(int zoneType) {
+        return switch (zoneType) {
             case 1 -> "Geode Zone";
             case 2 -> "Crystal Field";
             case 3 -> "Deep Zone";
@@ -79,12 +81,16 @@ public class AmethystBiomeProvider extends BaseBiomeProvider {
         };
     }
 
-    public double getAmethystDensityMultiplier(int x, int z) {
-        int zone = getZoneType(x, z);
-        return switch (zone) {
+    @Override
+    protected double densityMultiplier(int zoneType) {
+        return switch (zoneType) {
             case 1 -> 1.8;
             case 2 -> 1.4;
             default -> 1.0;
         };
     }
-}
\ No newline at end of file
+
+    public double getAmethystDensityMultiplier(int x, int z) {
+        return getDensityMultiplier(x, z);
+    }
+}
@@ -3,105 +3,145 @@ package de.tecca.ultimatedimensions.dimensions.amethyst;
 import de.tecca.ultimatedimensions.UltimateDimensions;
 import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
 import de.tecca.ultimatedimensions.dimension.DimensionConfig;
+import de.tecca.ultimatedimensions.generator.CaveDensityGrid;
+import de.tecca.ultimatedimensions.generator.ChunkBlockBuffer;
+import de.tecca.ultimatedimensions.generator.ChunkHeightmap;
+import de.tecca.ultimatedimensions.generator.ChunkSurface;
 import de.tecca.ultimatedimensions.generator.ChunkZoneCache;
+import de.tecca.ultimatedimensions.generator.OctaveNoise;
 import de.tecca.ultimatedimensions.generator.TerrainConstants;
 import de.tecca.ultimatedimensions.generator.BlockSelector;
 import de.tecca.ultimatedimensions.util.OraxenIntegration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.generator.BiomeProvider;
 import org.bukkit.generator.WorldInfo;
-import org.bukkit.util.noise.SimplexOctaveGenerator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class AmethystDimensionGenerator extends BaseDimensionGenerator {
 
-    private final TerrainConstants constants;
-    private AmethystBiomeProvider biomeProvider;
-    private BlockSelector blockSelector;
-    private OraxenIntegration oraxenIntegration;
+    private final AtomicReference<AmethystBiomeProvider> biomeProvider = new AtomicReference<>();
+
+    private final BlockSelector blockSelector;
 
     public AmethystDimensionGenerator(UltimateDimensions plugin, DimensionConfig config, long seed) {
-        super(plugin, config, seed);
-        this.constants = TerrainConstants.createDefault();
-        this.constants.loadFromConfig(plugin.getConfig());
+        this(plugin, config, seed, loadConstants(plugin));
+    }
+
+    // Ohne Plugin-Instanz (Benchmarks): Konstanten werden übergeben, keine Oraxen-Ores
+    public AmethystDimensionGenerator(DimensionConfig config, long seed, TerrainConstants constants) {
+        this(null, config, seed, constants);
+    }
+
+    private AmethystDimensionGenerator(UltimateDimensions plugin, DimensionConfig config, long seed,
+                                       TerrainConstants constants) {
+        super(plugin, config, seed, constants);
+        this.blockSelector = new BlockSelector(constants);
 
-        if (plugin.isOraxenAvailable()) {
+        if (plugin != null && plugin.isOraxenAvailable()) {
             initializeOraxenDelayed();
         }
     }
 
+    private static TerrainConstants loadConstants(UltimateDimensions plugin) {
+        return TerrainConstants.fromConfig(plugin.getConfig());
+    }
+
     @Override
     @Nullable
     public BiomeProvider getDefaultBiomeProvider(@NotNull WorldInfo worldInfo) {
-        if (biomeProvider == null) {
-            biomeProvider = new AmethystBiomeProvider(worldInfo.getSeed());
+        AmethystBiomeProvider provider = biomeProvider.get();
+        if (provider == null) {
+            // Provider ist deterministisch - verliert ein Thread das Rennen, wird seine Instanz verworfen
+            AmethystBiomeProvider created = new AmethystBiomeProvider(worldInfo.getSeed(), zoneCacheCapacity);
+            if (biomeProvider.compareAndSet(null, created)) {
+                attachProvider(created, worldInfo);
+            }
+            provider = biomeProvider.get();
         }
-        return biomeProvider;
+        return provider;
     }
 
     @Override
-    protected void initializeZoneCache(WorldInfo worldInfo) {
-        if (biomeProvider != null) {
-            zoneCache = new ChunkZoneCache(biomeProvider);
-        }
+    protected ChunkZoneCache createZoneCache(WorldInfo worldInfo) {
+        AmethystBiomeProvider provider = biomeProvider.get();
+        return provider != null ? new ChunkZoneCache(provider, zoneCacheCapacity) : null;
     }
 
     @Override
     protected void generateTerrainNoise(WorldInfo worldInfo, Random random,
                                         int chunkX, int chunkZ, ChunkData chunkData) {
 
-        if (blockSelector == null) {
-            blockSelector = new BlockSelector(constants, oraxenIntegration);
-        }
-
-        SimplexOctaveGenerator floorNoise = getNoiseGenerator(0, constants.noise.floor);
-        SimplexOctaveGenerator ceilingNoise = getNoiseGenerator(1000, constants.noise.ceiling);
-        SimplexOctaveGenerator pillarNoise = getNoiseGenerator(2000, constants.noise.pillar);
-        SimplexOctaveGenerator oreNoise = getNoiseGenerator(3000, constants.noise.ore);
-        SimplexOctaveGenerator crystalNoise = getNoiseGenerator(4000, constants.noise.crystal);
-        SimplexOctaveGenerator caveNoise = getNoiseGenerator(9000, constants.noise.cave);
+        OctaveNoise floorNoise = noiseBank.floor;
+        OctaveNoise ceilingNoise = noiseBank.ceiling;
+        OctaveNoise pillarNoise = noiseBank.pillar;
+        OctaveNoise oreNoise = noiseBank.ore;
+        OctaveNoise caveNoise = noiseBank.cave;
 
         int worldX = chunkX * 16;
         int worldZ = chunkZ * 16;
 
-        ChunkZoneCache.ZoneData chunkZoneData = zoneCache.getZoneData(worldX + 8, worldZ + 8);
+        CaveDensityGrid caveGrid = prepareCaveGrid(caveNoise, chunkX, chunkZ, chunkData);
+
+        ChunkHeightmap heightmap = scratchHeightmap();
+        heightmap.fillFloor(floorNoise, worldX, worldZ,
+                constants.normal.floorBaseHeight, constants.normal.floorVariation);
+        heightmap.fillCeiling(ceilingNoise, worldX, worldZ,
+                constants.normal.ceilingBase, constants.normal.ceilingVariation);
+        heightmap.fillPillars(pillarNoise, worldX, worldZ, constants.normal.pillarThreshold);
+
+        ChunkBlockBuffer blocks = scratchBlocks(chunkData);
+        ChunkSurface surface = new ChunkSurface();
+        int oraxenOres = 0;
 
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
                 int absX = worldX + x;
                 int absZ = worldZ + z;
 
-                double floorValue = floorNoise.noise(absX, absZ, 0.5, 0.5, true);
-                int floorHeight = (int) (floorValue * constants.normal.floorVariation) + constants.normal.floorBaseHeight;
-
-                double ceilingValue = ceilingNoise.noise(absX, absZ, 0.5, 0.5, true);
-                int ceilingStart = (int) (ceilingValue * constants.normal.ceilingVariation) + constants.normal.ceilingBase;
+                int floorHeight = heightmap.getFloor(x, z);
+                int ceilingStart = heightmap.getCeiling(x, z);
 
+                prepareCaveColumn(chunkData, caveGrid, x, z, floorHeight, false, 0.6);
                 for (int y = chunkData.getMinHeight(); y < floorHeight; y++) {
-                    if (generateCaves(chunkData, x, y, z, absX, absZ, caveNoise, floorHeight, false, 0.6)) {
+                    if (generateCaves(chunkData, caveGrid, x, y, z, floorHeight, false, 0.6)) {
                         continue;
                     }
 
-                    Material block = blockSelector.selectNormalBlock(random, y, floorHeight,
-                            absX, y, absZ, oreNoise, crystalNoise, chunkZoneData.densityMultiplier());
-                    chunkData.setBlock(x, y, z, block);
+                    BlockData ore = blockSelector.selectNormalOre(random, y, floorHeight, absX, y, absZ, oreNoise);
+                    if (ore != null) {
+                        blocks.set(x, y, z, ore);
+                        oraxenOres++;
+                    } else {
+                        blocks.set(x, y, z, blockSelector.selectNormalBlock(random, y, floorHeight));
+                    }
+                    surface.setFloorTop(x, z, y);
                 }
 
+                prepareCaveColumn(chunkData, caveGrid, x, z, ceilingStart, true, 0.65);
                 for (int y = ceilingStart; y < chunkData.getMaxHeight(); y++) {
-                    if (generateCaves(chunkData, x, y, z, absX, absZ, caveNoise, ceilingStart, true, 0.65)) {
+                    if (generateCaves(chunkData, caveGrid, x, y, z, ceilingStart, true, 0.65)) {
                         continue;
                     }
 
-                    Material block = blockSelector.selectNormalBlock(random, y, ceilingStart,
-                            absX, y, absZ, oreNoise, crystalNoise, chunkZoneData.densityMultiplier());
-                    chunkData.setBlock(x, y, z, block);
+                    BlockData ore = blockSelector.selectNormalOre(random, y, ceilingStart, absX, y, absZ, oreNoise);
+                    if (ore != null) {
+                        blocks.set(x, y, z, ore);
+                        oraxenOres++;
+                    } else {
+                        blocks.set(x, y, z, blockSelector.selectNormalBlock(random, y, ceilingStart));
+                    }
+                    if (surface.getCeilingBottom(x, z) == ChunkSurface.NONE) {
+                        surface.setCeilingBottom(x, z, y);
+                    }
                 }
 
-                double pillarValue = pillarNoise.noise(absX, absZ, 1, 1, true);
+                double pillarValue = heightmap.getPillar(x, z);
                 if (pillarValue > constants.normal.pillarThreshold) {
                     Material pillarMaterial = pillarValue > constants.normal.elitePillarThreshold
                             ? Material.BUDDING_AMETHYST : Material.AMETHYST_BLOCK;
@@ -112,21 +152,30 @@ public class AmethystDimensionGenerator extends BaseDimensionGenerator {
 
                     for (int y = floorHeight; y < pillarTop; y++) {
                         if (random.nextInt(100) < 15) {
-                            chunkData.setBlock(x, y, z, Material.AMETHYST_CLUSTER);
+                            blocks.set(x, y, z, Material.AMETHYST_CLUSTER);
                         } else {
-                            chunkData.setBlock(x, y, z, pillarMaterial);
+                            blocks.set(x, y, z, pillarMaterial);
                         }
                     }
+                    if (pillarTop > floorHeight) {
+                        surface.setFloorTop(x, z, pillarTop - 1);
+                    }
                 }
             }
         }
+
+        blocks.flush(chunkData);
+        metrics.addOraxenOres(oraxenOres);
+        handOffSurface(chunkX, chunkZ, surface);
+        finishCaveGrid();
     }
 
     @Override
     protected void generateSurfaceFeatures(WorldInfo worldInfo, Random random,
                                            int chunkX, int chunkZ, ChunkData chunkData) {
 
-        SimplexOctaveGenerator clusterNoise = getNoiseGenerator(8000, constants.noise.cluster);
+        OctaveNoise clusterNoise = noiseBank.cluster;
+        ChunkSurface surface = takeSurface(chunkX, chunkZ);
         int worldX = chunkX * 16;
         int worldZ = chunkZ * 16;
 
@@ -135,36 +184,47 @@ public class AmethystDimensionGenerator extends BaseDimensionGenerator {
                 int absX = worldX + x;
                 int absZ = worldZ + z;
 
-                double clusterDensity = clusterNoise.noise(absX, absZ, 0.5, 0.5, true);
+                double clusterDensity = clusterNoise.noise(absX, absZ, 0.5, 0.5);
                 boolean highDensity = clusterDensity > 0.6;
 
-                for (int y = 80; y > chunkData.getMinHeight(); y--) {
-                    Material currentBlock = chunkData.getType(x, y, z);
-                    Material blockAbove = chunkData.getType(x, y + 1, z);
-
-                    if (currentBlock != Material.AIR && blockAbove == Material.AIR) {
-                        if (random.nextInt(100) < (highDensity ? 40 : 25)) {
-                            placeAmethystCluster(chunkData, x, y + 1, z, random, highDensity);
-                        }
-                        break;
+                int floorTop = surface != null ? surface.getFloorTop(x, z) : scanFloorTop(chunkData, x, z);
+                if (floorTop != ChunkSurface.NONE) {
+                    if (random.nextInt(100) < (highDensity ? 40 : 25)) {
+                        placeAmethystCluster(chunkData, x, floorTop + 1, z, random, highDensity);
                     }
                 }
 
-                for (int y = 90; y < chunkData.getMaxHeight(); y++) {
-                    Material currentBlock = chunkData.getType(x, y, z);
-                    Material blockBelow = chunkData.getType(x, y - 1, z);
-
-                    if (currentBlock != Material.AIR && blockBelow == Material.AIR) {
-                        if (random.nextInt(100) < 30) {
-                            placeAmethystCluster(chunkData, x, y - 1, z, random, highDensity);
-                        }
-                        break;
+                int ceilingBottom = surface != null
+                        ? surface.getCeilingBottom(x, z)
+                        : scanCeilingBottom(chunkData, x, z);
+                if (ceilingBottom != ChunkSurface.NONE) {
+                    if (random.nextInt(100) < 30) {
+                        placeAmethystCluster(chunkData, x, ceilingBottom - 1, z, random, highDensity);
                     }
                 }
             }
         }
     }
 
+    // Fallback ohne Übergabe aus dem Noise-Pass (z.B. nach einem Neustart zwischen den Stufen)
+    private int scanFloorTop(ChunkData chunkData, int x, int z) {
+        for (int y = 80; y > chunkData.getMinHeight(); y--) {
+            if (chunkData.getType(x, y, z) != Material.AIR && chunkData.getType(x, y + 1, z) == Material.AIR) {
+                return y;
+            }
+        }
+        return ChunkSurface.NONE;
+    }
+
+    private int scanCeilingBottom(ChunkData chunkData, int x, int z) {
+        for (int y = 90; y < chunkData.getMaxHeight(); y++) {
+            if (chunkData.getType(x, y, z) != Material.AIR && chunkData.getType(x, y - 1, z) == Material.AIR) {
+                return y;
+            }
+        }
+        return ChunkSurface.NONE;
+    }
+
     private void placeAmethystCluster(ChunkData data, int x, int y, int z, Random random, boolean large) {
         Material[] smallClusters = {
                 Material.SMALL_AMETHYST_BUD,
@@ -194,8 +254,7 @@ public class AmethystDimensionGenerator extends BaseDimensionGenerator {
     private void initializeOraxenDelayed() {
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
             try {
-                this.oraxenIntegration = new OraxenIntegration();
-                if (oraxenIntegration.hasOres()) {
+                if (publishOraxen(new OraxenIntegration())) {
                     plugin.getLogger().info("✓ Oraxen Custom Ores loaded for Amethyst dimension");
                 } else {
                     scheduleOraxenRetry(1);
@@ -213,8 +272,7 @@ public class AmethystDimensionGenerator extends BaseDimensionGenerator {
 
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
             try {
-                this.oraxenIntegration = new OraxenIntegration();
-                if (oraxenIntegration.hasOres()) {
+                if (publishOraxen(new OraxenIntegration())) {
                     plugin.getLogger().info("✓ Oraxen loaded (attempt " + (attempt + 1) + ")");
                 } else {
                     scheduleOraxenRetry(attempt + 1);
@@ -225,7 +283,16 @@ public class AmethystDimensionGenerator extends BaseDimensionGenerator {
         }, constants.oraxen.retryDelayTicks * attempt);
     }
 
+    private boolean publishOraxen(OraxenIntegration integration) {
+        if (!integration.hasOres()) {
+            return false;
+        }
+
+        blockSelector.setOrePalette(integration.getPalette());
+        return true;
+    }
+
     public AmethystBiomeProvider getBiomeProvider() {
-        return biomeProvider;
+        return biomeProvider.get();
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package de.tecca.ultimatedimensions.generator;
+
+// Wertet OctaveNoise für eine Reihe äquidistanter Punkte (x + i*stepX, ..., i < count) aus.
+// Alle Backends liefern exakt dieselben Werte wie die Einzelaufrufe auf OctaveNoise.
+public interface BatchNoise {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    String getName();
+
+    boolean isVectorized();
+
+    void sample2D(OctaveNoise noise, double x, double z, double stepX, double stepZ, int count,
+                  double frequency, double amplitude, double[] out, int offset);
+
+    void sample3D(OctaveNoise noise, double x, double y, double z, double stepX, double stepY, double stepZ,
+                  int count, double frequency, double amplitude, double[] out, int offset);
+
+    // Nur für Schwellwert-Tests: Werte über der Schwelle sind exakt, alle anderen dürfen
+    // durch -Infinity ersetzt werden (der skalare Pfad bricht dafür Oktaven früh ab)
+    void sampleAbove2D(OctaveNoise noise, double x, double z, double stepX, double stepZ, int count,
+                       double frequency, double amplitude, double threshold, double[] out, int offset);
+
+    void sampleAbove3D(OctaveNoise noise, double x, double y, double z, double stepX, double stepY, double stepZ,
+                       int count, double frequency, double amplitude, double threshold, double[] out, int offset);
+
+    static BatchNoise get() {
+        return Holder.INSTANCE;
+    }
+
+    final class Holder {
+
+        private static final BatchNoise INSTANCE = select();
+
+        private Holder() {}
+
+        // Die Vector-API ist ein Incubator-Modul und nur mit --add-modules jdk.incubator.vector vorhanden
+        private static BatchNoise select() {
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+                try {
+                    return (BatchNoise) Class.forName(Holder.class.getPackageName() + ".VectorBatchNoise")
+                            .getDeclaredConstructor()
+                            .newInstance();
+                } catch (ReflectiveOperationException | LinkageError ignored) {
+                    // Fällt auf den skalaren Pfad zurück
+                }
+            }
+            return new ScalarBatchNoise();
+        }
+    }
+}
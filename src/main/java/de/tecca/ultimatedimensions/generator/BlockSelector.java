@@ -2,174 +2,86 @@ package de.tecca.ultimatedimensions.generator;
 
 import de.tecca.ultimatedimensions.util.OraxenIntegration;
 import org.bukkit.Material;
-import org.bukkit.util.noise.SimplexOctaveGenerator;
+import org.bukkit.block.data.BlockData;
 
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class BlockSelector {
 
     private final TerrainConstants constants;
-    private final OraxenIntegration oraxenIntegration;
+    private final BlockTable table;
 
-    public BlockSelector(TerrainConstants constants, OraxenIntegration oraxenIntegration) {
+    // Wird ausgetauscht, sobald Oraxen (verzögert) geladen ist; Worldgen-Threads lesen immer den aktuellen Stand
+    private final AtomicReference<OraxenIntegration.OrePalette> ores =
+            new AtomicReference<>(OraxenIntegration.OrePalette.EMPTY);
+
+    public BlockSelector(TerrainConstants constants) {
         this.constants = constants;
-        this.oraxenIntegration = oraxenIntegration;
+        this.table = BlockTable.compile(constants.blocks);
     }
 
-    public Material selectNormalBlock(Random random, int y, int surfaceLevel,
-                                      int worldX, int worldY, int worldZ,
-                                      SimplexOctaveGenerator oreNoise,
-                                      SimplexOctaveGenerator crystalNoise,
-                                      double densityMultiplier) {
-
-        int depth = Math.abs(y - surfaceLevel);
-
-        if (oraxenIntegration != null &&
-                depth > constants.oraxen.normalOreMinDepth &&
-                depth < constants.oraxen.normalOreMaxDepth) {
-
-            double oreValue = oreNoise.noise(worldX, worldY, worldZ, 0.5, 0.5, true);
-            if (depth <= constants.oraxen.normalOreDepthCheckMax &&
-                    oreValue > constants.oraxen.commonOreThreshold) {
-                Material ore = oraxenIntegration.getRandomOre(random, "common");
-                if (ore != null) return ore;
-            }
-        }
-
-        if (depth <= 1) {
-            return random.nextInt(100) < constants.blocks.normalSurfaceBuddingChance
-                    ? Material.BUDDING_AMETHYST
-                    : Material.AMETHYST_BLOCK;
-        }
-
-        if (depth <= 5) {
-            int roll = random.nextInt(100);
-            if (roll < constants.blocks.normalUpperAmethystChance) return Material.AMETHYST_BLOCK;
-            if (roll < constants.blocks.normalUpperBuddingChance) return Material.BUDDING_AMETHYST;
-            if (roll < constants.blocks.normalUpperTuffChance) return Material.TUFF;
-            return Material.SMOOTH_BASALT;
-        }
-
-        if (depth <= 15) {
-            int roll = random.nextInt(100);
-            if (roll < constants.blocks.normalMiddleAmethystChance) return Material.AMETHYST_BLOCK;
-            if (roll < constants.blocks.normalMiddleTuffChance) return Material.TUFF;
-            if (roll < constants.blocks.normalMiddleBasaltChance) return Material.SMOOTH_BASALT;
-            return Material.DEEPSLATE;
-        }
+    public void setOrePalette(OraxenIntegration.OrePalette palette) {
+        ores.set(palette);
+    }
 
-        int roll = random.nextInt(100);
-        if (roll < constants.blocks.normalDeepTuffChance) return Material.TUFF;
-        if (roll < constants.blocks.normalDeepDeepslateChance) return Material.DEEPSLATE;
-        if (roll < constants.blocks.normalDeepBlackstoneChance) return Material.BLACKSTONE;
-        return Material.SMOOTH_BASALT;
+    public OraxenIntegration.OrePalette getOrePalette() {
+        return ores.get();
     }
 
-    public Material selectGeodeBlock(Random random, int y, int surfaceLevel,
-                                     int worldX, int worldY, int worldZ,
-                                     SimplexOctaveGenerator oreNoise,
-                                     SimplexOctaveGenerator crystalNoise,
-                                     double densityMultiplier) {
+    // null = kein Ore an dieser Stelle, dann selectNormalBlock verwenden
+    public BlockData selectNormalOre(Random random, int y, int surfaceLevel,
+                                     int worldX, int worldY, int worldZ, OctaveNoise oreNoise) {
 
+        OraxenIntegration.OrePalette palette = ores.get();
         int depth = Math.abs(y - surfaceLevel);
 
-        if (depth <= 1) {
-            return random.nextInt(100) < constants.blocks.geodeSurfaceBuddingChance
-                    ? Material.BUDDING_AMETHYST
-                    : Material.AMETHYST_BLOCK;
+        if (!palette.isEmpty() &&
+                depth > constants.oraxen.normalOreMinDepth &&
+                depth < constants.oraxen.normalOreMaxDepth &&
+                depth <= constants.oraxen.normalOreDepthCheckMax &&
+                oreNoise.exceeds(worldX, worldY, worldZ, 0.5, 0.5, constants.oraxen.commonOreThreshold)) {
+            return palette.random(random, "common");
         }
+        return null;
+    }
 
-        if (depth <= 10) {
-            int roll = random.nextInt(100);
-            if (roll < constants.blocks.geodeUpperAmethystChance) return Material.AMETHYST_BLOCK;
-            if (roll < constants.blocks.geodeUpperBuddingChance) return Material.BUDDING_AMETHYST;
-            return Material.SMOOTH_BASALT;
-        }
+    public Material selectNormalBlock(Random random, int y, int surfaceLevel) {
 
-        int roll = random.nextInt(100);
-        if (roll < constants.blocks.geodeDeepAmethystChance) return Material.AMETHYST_BLOCK;
-        if (roll < constants.blocks.geodeDeepBasaltChance) return Material.SMOOTH_BASALT;
-        if (roll < constants.blocks.geodeDeepTuffChance) return Material.TUFF;
-        return Material.CALCITE;
+        int depth = Math.abs(y - surfaceLevel);
+        return table.select(BlockTable.NORMAL, depth, random);
     }
 
-    public Material selectCrystalFieldBlock(Random random, int y, int surfaceLevel,
-                                            int worldX, int worldY, int worldZ,
-                                            SimplexOctaveGenerator oreNoise,
-                                            SimplexOctaveGenerator crystalNoise,
-                                            double densityMultiplier) {
+    public Material selectGeodeBlock(Random random, int y, int surfaceLevel) {
 
         int depth = Math.abs(y - surfaceLevel);
+        return table.select(BlockTable.GEODE, depth, random);
+    }
 
-        if (depth <= 1) {
-            return random.nextInt(100) < constants.blocks.crystalSurfaceBuddingChance
-                    ? Material.BUDDING_AMETHYST
-                    : Material.AMETHYST_CLUSTER;
-        }
-
-        if (depth <= 8) {
-            int roll = random.nextInt(100);
-            if (roll < constants.blocks.crystalUpperBuddingChance) return Material.BUDDING_AMETHYST;
-            if (roll < constants.blocks.crystalUpperAmethystChance) return Material.AMETHYST_BLOCK;
-            return Material.TUFF;
-        }
+    public Material selectCrystalFieldBlock(Random random, int y, int surfaceLevel) {
 
-        int roll = random.nextInt(100);
-        if (roll < constants.blocks.crystalDeepAmethystChance) return Material.AMETHYST_BLOCK;
-        if (roll < constants.blocks.crystalDeepTuffChance) return Material.TUFF;
-        if (roll < constants.blocks.crystalDeepCalciteChance) return Material.CALCITE;
-        return Material.SMOOTH_BASALT;
+        int depth = Math.abs(y - surfaceLevel);
+        return table.select(BlockTable.CRYSTAL, depth, random);
     }
 
-    public Material selectDeepZoneBlock(Random random, int y, int surfaceLevel,
-                                        int worldX, int worldY, int worldZ,
-                                        SimplexOctaveGenerator oreNoise,
-                                        SimplexOctaveGenerator crystalNoise,
-                                        double densityMultiplier) {
+    public BlockData selectDeepOre(Random random, int y, int surfaceLevel,
+                                   int worldX, int worldY, int worldZ, OctaveNoise oreNoise) {
 
+        OraxenIntegration.OrePalette palette = ores.get();
         int depth = Math.abs(y - surfaceLevel);
 
-        if (oraxenIntegration != null &&
+        if (!palette.isEmpty() &&
                 depth > constants.oraxen.deepOreMinDepth &&
-                depth < constants.oraxen.deepOreMaxDepth) {
-
-            double oreValue = oreNoise.noise(worldX, worldY, worldZ, 0.5, 0.5, true);
-            if (oreValue > constants.oraxen.rareOreThreshold) {
-                Material ore = oraxenIntegration.getRandomOre(random, "rare");
-                if (ore != null) return ore;
-            }
-        }
-
-        if (depth <= 1) {
-            int roll = random.nextInt(100);
-            if (roll < constants.blocks.deepSurfaceAmethystChance) return Material.AMETHYST_BLOCK;
-            if (roll < constants.blocks.deepSurfaceBlackstoneChance) return Material.BLACKSTONE;
-            if (roll < constants.blocks.deepSurfaceBasaltChance) return Material.BASALT;
-            return Material.SMOOTH_BASALT;
-        }
-
-        if (depth <= 8) {
-            int roll = random.nextInt(100);
-            if (roll < constants.blocks.deepUpperAmethystChance) return Material.AMETHYST_BLOCK;
-            if (roll < constants.blocks.deepUpperBlackstoneChance) return Material.BLACKSTONE;
-            if (roll < constants.blocks.deepUpperBasaltChance) return Material.BASALT;
-            if (roll < constants.blocks.deepUpperDeepslateChance) return Material.DEEPSLATE;
-            return Material.SMOOTH_BASALT;
+                depth < constants.oraxen.deepOreMaxDepth &&
+                oreNoise.exceeds(worldX, worldY, worldZ, 0.5, 0.5, constants.oraxen.rareOreThreshold)) {
+            return palette.random(random, "rare");
         }
+        return null;
+    }
 
-        if (depth <= 20) {
-            int roll = random.nextInt(100);
-            if (roll < constants.blocks.deepMiddleAmethystChance) return Material.AMETHYST_BLOCK;
-            if (roll < constants.blocks.deepMiddleBlackstoneChance) return Material.BLACKSTONE;
-            if (roll < constants.blocks.deepMiddleDeepslateChance) return Material.DEEPSLATE;
-            if (roll < constants.blocks.deepMiddleBasaltChance) return Material.BASALT;
-            return Material.TUFF;
-        }
+    public Material selectDeepZoneBlock(Random random, int y, int surfaceLevel) {
 
-        int roll = random.nextInt(100);
-        if (roll < constants.blocks.deepDeepDeepslateChance) return Material.DEEPSLATE;
-        if (roll < constants.blocks.deepDeepBlackstoneChance) return Material.BLACKSTONE;
-        if (roll < constants.blocks.deepDeepBasaltChance) return Material.BASALT;
-        return Material.TUFF;
+        int depth = Math.abs(y - surfaceLevel);
+        return table.select(BlockTable.DEEP, depth, random);
     }
 }
\ No newline at end of file
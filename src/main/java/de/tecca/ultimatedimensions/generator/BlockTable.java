@@ -0,0 +1,145 @@
+package de.tecca.ultimatedimensions.generator;
+
+import org.bukkit.Material;
+
+import java.util.Random;
+
+// Vorkompilierte Blockverteilung: pro (Zone, Tiefenband) 100 Einträge, einer je Würfelwurf.
+// select() zieht genau ein nextInt(100) wie die ursprüngliche if-Kette.
+public final class BlockTable {
+
+    public static final int NORMAL = 0;
+    public static final int GEODE = 1;
+    public static final int CRYSTAL = 2;
+    public static final int DEEP = 3;
+
+    private static final int ROLLS = 100;
+    private static final int BANDS = 14;
+
+    // Ab dieser Tiefe liegt jede Zone im untersten Band
+    private static final int MAX_DEPTH = 21;
+
+    private final Material[] materials;
+    private final int[][] bandByDepth = new int[4][MAX_DEPTH + 1];
+    private int bandCount;
+
+    private BlockTable(TerrainConstants.BlockDistribution blocks) {
+        this.materials = new Material[BANDS * ROLLS];
+
+        depthBands(NORMAL, 1, 5, 15);
+        int normal = bandByDepth[NORMAL][0];
+        band(normal, roll -> roll < blocks.normalSurfaceBuddingChance
+                ? Material.BUDDING_AMETHYST : Material.AMETHYST_BLOCK);
+        band(normal + 1, roll -> {
+            if (roll < blocks.normalUpperAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.normalUpperBuddingChance) return Material.BUDDING_AMETHYST;
+            if (roll < blocks.normalUpperTuffChance) return Material.TUFF;
+            return Material.SMOOTH_BASALT;
+        });
+        band(normal + 2, roll -> {
+            if (roll < blocks.normalMiddleAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.normalMiddleTuffChance) return Material.TUFF;
+            if (roll < blocks.normalMiddleBasaltChance) return Material.SMOOTH_BASALT;
+            return Material.DEEPSLATE;
+        });
+        band(normal + 3, roll -> {
+            if (roll < blocks.normalDeepTuffChance) return Material.TUFF;
+            if (roll < blocks.normalDeepDeepslateChance) return Material.DEEPSLATE;
+            if (roll < blocks.normalDeepBlackstoneChance) return Material.BLACKSTONE;
+            return Material.SMOOTH_BASALT;
+        });
+
+        depthBands(GEODE, 1, 10);
+        int geode = bandByDepth[GEODE][0];
+        band(geode, roll -> roll < blocks.geodeSurfaceBuddingChance
+                ? Material.BUDDING_AMETHYST : Material.AMETHYST_BLOCK);
+        band(geode + 1, roll -> {
+            if (roll < blocks.geodeUpperAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.geodeUpperBuddingChance) return Material.BUDDING_AMETHYST;
+            return Material.SMOOTH_BASALT;
+        });
+        band(geode + 2, roll -> {
+            if (roll < blocks.geodeDeepAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.geodeDeepBasaltChance) return Material.SMOOTH_BASALT;
+            if (roll < blocks.geodeDeepTuffChance) return Material.TUFF;
+            return Material.CALCITE;
+        });
+
+        depthBands(CRYSTAL, 1, 8);
+        int crystal = bandByDepth[CRYSTAL][0];
+        band(crystal, roll -> roll < blocks.crystalSurfaceBuddingChance
+                ? Material.BUDDING_AMETHYST : Material.AMETHYST_CLUSTER);
+        band(crystal + 1, roll -> {
+            if (roll < blocks.crystalUpperBuddingChance) return Material.BUDDING_AMETHYST;
+            if (roll < blocks.crystalUpperAmethystChance) return Material.AMETHYST_BLOCK;
+            return Material.TUFF;
+        });
+        band(crystal + 2, roll -> {
+            if (roll < blocks.crystalDeepAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.crystalDeepTuffChance) return Material.TUFF;
+            if (roll < blocks.crystalDeepCalciteChance) return Material.CALCITE;
+            return Material.SMOOTH_BASALT;
+        });
+
+        depthBands(DEEP, 1, 8, 20);
+        int deep = bandByDepth[DEEP][0];
+        band(deep, roll -> {
+            if (roll < blocks.deepSurfaceAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.deepSurfaceBlackstoneChance) return Material.BLACKSTONE;
+            if (roll < blocks.deepSurfaceBasaltChance) return Material.BASALT;
+            return Material.SMOOTH_BASALT;
+        });
+        band(deep + 1, roll -> {
+            if (roll < blocks.deepUpperAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.deepUpperBlackstoneChance) return Material.BLACKSTONE;
+            if (roll < blocks.deepUpperBasaltChance) return Material.BASALT;
+            if (roll < blocks.deepUpperDeepslateChance) return Material.DEEPSLATE;
+            return Material.SMOOTH_BASALT;
+        });
+        band(deep + 2, roll -> {
+            if (roll < blocks.deepMiddleAmethystChance) return Material.AMETHYST_BLOCK;
+            if (roll < blocks.deepMiddleBlackstoneChance) return Material.BLACKSTONE;
+            if (roll < blocks.deepMiddleDeepslateChance) return Material.DEEPSLATE;
+            if (roll < blocks.deepMiddleBasaltChance) return Material.BASALT;
+            return Material.TUFF;
+        });
+        band(deep + 3, roll -> {
+            if (roll < blocks.deepDeepDeepslateChance) return Material.DEEPSLATE;
+            if (roll < blocks.deepDeepBlackstoneChance) return Material.BLACKSTONE;
+            if (roll < blocks.deepDeepBasaltChance) return Material.BASALT;
+            return Material.TUFF;
+        });
+    }
+
+    public static BlockTable compile(TerrainConstants.BlockDistribution blocks) {
+        return new BlockTable(blocks);
+    }
+
+    public Material select(int zone, int depth, Random random) {
+        int band = bandByDepth[zone][Math.min(depth, MAX_DEPTH)];
+        return materials[band * ROLLS + random.nextInt(ROLLS)];
+    }
+
+    // Obergrenzen (inklusiv) der Tiefenbänder, das letzte Band reicht bis MAX_DEPTH
+    private void depthBands(int zone, int... limits) {
+        int band = 0;
+        for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+            if (band < limits.length && depth > limits[band]) {
+                band++;
+            }
+            bandByDepth[zone][depth] = bandCount + band;
+        }
+        bandCount += limits.length + 1;
+    }
+
+    private void band(int band, RollMapping mapping) {
+        for (int roll = 0; roll < ROLLS; roll++) {
+            materials[band * ROLLS + roll] = mapping.select(roll);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RollMapping {
+        Material select(int roll);
+    }
+}
@@ -0,0 +1,180 @@
+package de.tecca.ultimatedimensions.generator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Gemeinsames Speicherbudget aller Generator-Caches über alle Welten. Jeder Cache meldet sich mit einer
+// geschätzten Größe pro Eintrag an; rebalance() verteilt das Budget nach den Zugriffen seit dem letzten Lauf
+// (exponentiell geglättet) und senkt bzw. hebt die Kapazitäten entsprechend, höchstens bis zur konfigurierten.
+// Die Schätzung zählt nur die Werte samt Tabellenplatz, nicht die fest reservierten Tabellen selbst.
+public class CacheBudget {
+
+    public record Usage(String name, int entries, int capacity, int maxCapacity, long bytes) {
+    }
+
+    private static final class Registration {
+        private final Object owner;
+        private final String name;
+        private final LongClockCache<?> cache;
+        private final int entryBytes;
+        private long lastAccesses;
+        private double weight;
+
+        private Registration(Object owner, String name, LongClockCache<?> cache, int entryBytes) {
+            this.owner = owner;
+            this.name = name;
+            this.cache = cache;
+            this.entryBytes = entryBytes;
+            this.lastAccesses = cache.hits() + cache.misses();
+        }
+
+        private long maxBytes() {
+            return (long) cache.maxCapacity() * entryBytes;
+        }
+    }
+
+    // Untergrenze pro Cache, damit selten genutzte Welten nicht bei jedem Chunk neu rechnen
+    public static final int MIN_ENTRIES = 64;
+    // Anteil des alten Gewichts pro Lauf; 0.5 = nach wenigen Läufen zählen nur noch aktuelle Zugriffe
+    private static final double DECAY = 0.5;
+
+    private final long budgetBytes;
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    // 0 = unbegrenzt, Caches werden dann nur gezählt
+    public CacheBudget(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+    }
+
+    public void register(Object owner, String name, LongClockCache<?> cache, int entryBytes) {
+        registrations.add(new Registration(owner, name, cache, entryBytes));
+        // Neue Welt sofort einordnen, statt bis zum nächsten Lauf über dem Budget zu liegen
+        rebalance();
+    }
+
+    public void unregister(Object owner) {
+        registrations.removeIf(registration -> registration.owner == owner);
+        rebalance();
+    }
+
+    public synchronized void rebalance() {
+        for (Registration registration : registrations) {
+            long accesses = registration.cache.hits() + registration.cache.misses();
+            registration.weight = registration.weight * DECAY + (accesses - registration.lastAccesses);
+            registration.lastAccesses = accesses;
+        }
+
+        if (!isLimited()) {
+            for (Registration registration : registrations) {
+                registration.cache.setCapacity(registration.cache.maxCapacity());
+            }
+            return;
+        }
+
+        for (Map.Entry<Registration, Long> allotment : allot().entrySet()) {
+            Registration registration = allotment.getKey();
+            registration.cache.setCapacity((int) (allotment.getValue() / registration.entryBytes));
+        }
+    }
+
+    // Water-Filling: jeder Cache bekommt MIN_ENTRIES, der Rest geht nach Gewicht an die Caches, die noch
+    // unter ihrer Maximalgröße liegen. Erreicht einer sein Maximum, wird sein Überschuss neu verteilt.
+    private Map<Registration, Long> allot() {
+        Map<Registration, Long> allotted = new HashMap<>();
+        List<Registration> open = new ArrayList<>();
+        long remaining = budgetBytes;
+
+        for (Registration registration : registrations) {
+            long floor = Math.min(registration.maxBytes(), (long) MIN_ENTRIES * registration.entryBytes);
+            allotted.put(registration, floor);
+            remaining -= floor;
+            if (floor < registration.maxBytes()) {
+                open.add(registration);
+            }
+        }
+
+        while (remaining > 0 && !open.isEmpty()) {
+            double totalWeight = 0;
+            for (Registration registration : open) {
+                // +1, damit Caches ohne Zugriffe gleichmäßig statt gar nicht bedacht werden
+                totalWeight += registration.weight + 1;
+            }
+
+            List<Registration> filled = new ArrayList<>();
+            for (Registration registration : open) {
+                long share = (long) (remaining * ((registration.weight + 1) / totalWeight));
+                if (allotted.get(registration) + share >= registration.maxBytes()) {
+                    filled.add(registration);
+                }
+            }
+
+            if (filled.isEmpty()) {
+                for (Registration registration : open) {
+                    long share = (long) (remaining * ((registration.weight + 1) / totalWeight));
+                    allotted.merge(registration, share, Long::sum);
+                }
+                break;
+            }
+
+            for (Registration registration : filled) {
+                remaining -= registration.maxBytes() - allotted.get(registration);
+                allotted.put(registration, registration.maxBytes());
+                open.remove(registration);
+            }
+        }
+        return allotted;
+    }
+
+    public List<Usage> getUsage(Object owner) {
+        List<Usage> usage = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (registration.owner == owner) {
+                usage.add(usageOf(registration));
+            }
+        }
+        return usage;
+    }
+
+    // Angemeldete Besitzer in Anmelde-Reihenfolge, auch solche ohne geladene Welt (warm gehaltene Generatoren)
+    public List<Object> getOwners() {
+        List<Object> owners = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (!owners.contains(registration.owner)) {
+                owners.add(registration.owner);
+            }
+        }
+        return owners;
+    }
+
+    public long getUsedBytes(Object owner) {
+        long bytes = 0;
+        for (Registration registration : registrations) {
+            if (registration.owner == owner) {
+                bytes += (long) registration.cache.size() * registration.entryBytes;
+            }
+        }
+        return bytes;
+    }
+
+    public long getUsedBytes() {
+        long bytes = 0;
+        for (Registration registration : registrations) {
+            bytes += (long) registration.cache.size() * registration.entryBytes;
+        }
+        return bytes;
+    }
+
+    public long getBudgetBytes() { return budgetBytes; }
+    public boolean isLimited() { return budgetBytes > 0; }
+    public int getCacheCount() { return registrations.size(); }
+
+    private static Usage usageOf(Registration registration) {
+        LongClockCache<?> cache = registration.cache;
+        int entries = cache.size();
+        return new Usage(registration.name, entries, cache.capacity(), cache.maxCapacity(),
+                (long) entries * registration.entryBytes);
+    }
+}
@@ -0,0 +1,174 @@
+package de.tecca.ultimatedimensions.generator;
+
+public class CaveDensityGrid {
+
+    public record Resolution(int cellWidth, int cellHeight, int cellDepth) {
+
+        public static final Resolution EXACT = new Resolution(1, 1, 1);
+
+        public boolean isExact() {
+            return cellWidth == 1 && cellHeight == 1 && cellDepth == 1;
+        }
+
+        // Format: "exact" oder "<breite>x<höhe>x<tiefe>", z.B. "4x8x4"
+        public static Resolution parse(String value) {
+            if (value == null || value.equalsIgnoreCase("exact")) {
+                return EXACT;
+            }
+
+            String[] parts = value.toLowerCase().split("x");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cave grid: " + value);
+            }
+
+            int width = Integer.parseInt(parts[0].trim());
+            int height = Integer.parseInt(parts[1].trim());
+            int depth = Integer.parseInt(parts[2].trim());
+
+            if (!dividesChunk(width) || !dividesChunk(depth) || height < 1) {
+                throw new IllegalArgumentException("Invalid cave grid: " + value +
+                        " (Breite/Tiefe müssen 16 teilen)");
+            }
+
+            return new Resolution(width, height, depth);
+        }
+
+        private static boolean dividesChunk(int size) {
+            return size >= 1 && size <= 16 && 16 % size == 0;
+        }
+    }
+
+    private final Resolution resolution;
+    private final BatchNoise batch;
+    private final int sizeX;
+    private final int sizeZ;
+    private final double invWidth;
+    private final double invHeight;
+    private final double invDepth;
+
+    private OctaveNoise noise;
+    private int worldX;
+    private int worldZ;
+    private int minY;
+    private int sizeY;
+    private double[] lattice = new double[0];
+
+    // Exakter Modus mit SIMD-Backend: eine vorab ausgewertete Spalte [columnFrom, columnTo)
+    private double[] column = new double[0];
+    private int columnX = -1;
+    private int columnZ = -1;
+    private int columnFrom;
+    private int columnTo;
+    private double columnThreshold;
+
+    public CaveDensityGrid(Resolution resolution, BatchNoise batch) {
+        this.resolution = resolution;
+        this.batch = batch;
+        this.sizeX = 16 / resolution.cellWidth() + 1;
+        this.sizeZ = 16 / resolution.cellDepth() + 1;
+        this.invWidth = 1.0 / resolution.cellWidth();
+        this.invHeight = 1.0 / resolution.cellHeight();
+        this.invDepth = 1.0 / resolution.cellDepth();
+    }
+
+    public void fill(OctaveNoise noise, int worldX, int worldZ, int minY, int maxY) {
+        this.noise = noise;
+        this.worldX = worldX;
+        this.worldZ = worldZ;
+        this.minY = minY;
+        this.columnX = -1;
+
+        if (resolution.isExact()) {
+            return;
+        }
+
+        int cellHeight = resolution.cellHeight();
+        this.sizeY = (maxY - minY + cellHeight - 1) / cellHeight + 1;
+
+        int required = sizeX * sizeZ * sizeY;
+        if (lattice.length < required) {
+            lattice = new double[required];
+        }
+
+        int index = 0;
+        for (int ix = 0; ix < sizeX; ix++) {
+            int absX = worldX + ix * resolution.cellWidth();
+            for (int iz = 0; iz < sizeZ; iz++) {
+                int absZ = worldZ + iz * resolution.cellDepth();
+                batch.sample3D(noise, absX, minY, absZ, 0, cellHeight, 0, sizeY, 0.5, 0.5, lattice, index);
+                index += sizeY;
+            }
+        }
+    }
+
+    // Nur sinnvoll mit SIMD-Backend; skalar bleiben die einzelnen exceeds-Aufrufe mit Oktaven-Abbruch günstiger
+    public void loadColumn(int x, int z, int fromY, int toY, double threshold) {
+        if (!resolution.isExact() || !batch.isVectorized()) {
+            return;
+        }
+
+        int height = Math.max(0, toY - fromY);
+        if (column.length < height) {
+            column = new double[height];
+        }
+
+        batch.sampleAbove3D(noise, worldX + x, fromY, worldZ + z, 0, 1, 0, height,
+                0.5, 0.5, threshold, column, 0);
+
+        this.columnX = x;
+        this.columnZ = z;
+        this.columnFrom = fromY;
+        this.columnTo = fromY + height;
+        this.columnThreshold = threshold;
+    }
+
+    public double density(int x, int y, int z) {
+        if (resolution.isExact()) {
+            return exactDensity(x, y, z);
+        }
+
+        int relY = y - minY;
+        int ix = x / resolution.cellWidth();
+        int iy = relY / resolution.cellHeight();
+        int iz = z / resolution.cellDepth();
+
+        double fx = (x - ix * resolution.cellWidth()) * invWidth;
+        double fy = (relY - iy * resolution.cellHeight()) * invHeight;
+        double fz = (z - iz * resolution.cellDepth()) * invDepth;
+
+        // Index-Reihenfolge x -> z -> y, vertikale Nachbarn liegen direkt hintereinander
+        int i00 = (ix * sizeZ + iz) * sizeY + iy;
+        int i01 = i00 + sizeY;
+        int i10 = i00 + sizeZ * sizeY;
+        int i11 = i10 + sizeY;
+
+        double c00 = lerp(fy, lattice[i00], lattice[i00 + 1]);
+        double c01 = lerp(fy, lattice[i01], lattice[i01 + 1]);
+        double c10 = lerp(fy, lattice[i10], lattice[i10 + 1]);
+        double c11 = lerp(fy, lattice[i11], lattice[i11 + 1]);
+
+        return lerp(fx, lerp(fz, c00, c01), lerp(fz, c10, c11));
+    }
+
+    public double exactDensity(int x, int y, int z) {
+        return noise.noise(worldX + x, y, worldZ + z, 0.5, 0.5);
+    }
+
+    public boolean exceeds(int x, int y, int z, double threshold) {
+        if (resolution.isExact()) {
+            if (x == columnX && z == columnZ && y >= columnFrom && y < columnTo && threshold == columnThreshold) {
+                return column[y - columnFrom] > threshold;
+            }
+            return noise.exceeds(worldX + x, y, worldZ + z, 0.5, 0.5, threshold);
+        }
+        return density(x, y, z) > threshold;
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    private static double lerp(double t, double a, double b) {
+        return a + t * (b - a);
+    }
+}
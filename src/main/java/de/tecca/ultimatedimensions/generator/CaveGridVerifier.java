@@ -0,0 +1,56 @@
+package de.tecca.ultimatedimensions.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+public class CaveGridVerifier {
+
+    private static final int REPORT_INTERVAL_CHUNKS = 256;
+
+    private final Logger logger;
+    private final String dimensionId;
+
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder decisionMismatches = new LongAdder();
+    private final DoubleAdder deviationSum = new DoubleAdder();
+    private final DoubleAccumulator maxDeviation = new DoubleAccumulator(Math::max, 0.0);
+    private final AtomicLong chunks = new AtomicLong();
+
+    public CaveGridVerifier(Logger logger, String dimensionId) {
+        this.logger = logger;
+        this.dimensionId = dimensionId;
+    }
+
+    public void record(double interpolated, double exact, double threshold) {
+        double deviation = Math.abs(interpolated - exact);
+        samples.increment();
+        deviationSum.add(deviation);
+        maxDeviation.accumulate(deviation);
+
+        if ((interpolated > threshold) != (exact > threshold)) {
+            decisionMismatches.increment();
+        }
+    }
+
+    public void chunkFinished() {
+        if (chunks.incrementAndGet() % REPORT_INTERVAL_CHUNKS == 0) {
+            report();
+        }
+    }
+
+    public void report() {
+        long count = samples.sum();
+        if (count == 0) {
+            return;
+        }
+
+        logger.info(String.format(
+                "[Cave-Grid %s] %d Chunks, %d Samples: max. Abweichung %.4f, mittlere Abweichung %.5f, " +
+                        "abweichende Höhlen-Entscheidungen %.3f%%",
+                dimensionId, chunks.get(), count, maxDeviation.get(), deviationSum.sum() / count,
+                decisionMismatches.sum() * 100.0 / count));
+    }
+}
@@ -0,0 +1,152 @@
+package de.tecca.ultimatedimensions.generator;
+
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.generator.ChunkGenerator.ChunkData;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Chunk-lokaler Block-Puffer: die Generator-Stufen schreiben 1-Byte-Palettenindizes,
+// flush() überträgt das Ergebnis spaltenweise als Läufe gleicher Blöcke in die ChunkData.
+public class ChunkBlockBuffer {
+
+    private static final int MAX_PALETTE = 256;
+    private static final Material[] MATERIALS = Material.values();
+
+    // BlockData ist unveränderlich genug für setRegion, ein Exemplar pro Material reicht. Alle Worldgen-Threads
+    // teilen das Array, daher atomar; vorab füllen geht nicht, createBlockData wirft für Item-Materialien
+    private static final AtomicReferenceArray<BlockData> BLOCK_DATA = new AtomicReferenceArray<>(MATERIALS.length);
+
+    // Index 0 = nicht gesetzt, der Block in der ChunkData bleibt unverändert
+    private final Material[] palette = new Material[MAX_PALETTE];
+    private final BlockData[] paletteData = new BlockData[MAX_PALETTE];
+    private final byte[] lookup = new byte[MATERIALS.length];
+    private int paletteSize = 1;
+
+    private byte[] blocks = new byte[0];
+    private int minY;
+    private int height;
+
+    public static BlockData blockData(Material material) {
+        BlockData data = BLOCK_DATA.get(material.ordinal());
+        if (data == null) {
+            // Verliert ein Thread das Rennen, nimmt er die bereits veröffentlichte Instanz
+            BlockData created = material.createBlockData();
+            data = BLOCK_DATA.compareAndExchange(material.ordinal(), null, created);
+            if (data == null) {
+                data = created;
+            }
+        }
+        return data;
+    }
+
+    public void reset(int minY, int maxY) {
+        this.minY = minY;
+        this.height = maxY - minY;
+
+        int required = 256 * height;
+        if (blocks.length < required) {
+            blocks = new byte[required];
+        } else {
+            Arrays.fill(blocks, 0, required, (byte) 0);
+        }
+
+        for (int i = 1; i < paletteSize; i++) {
+            lookup[palette[i].ordinal()] = 0;
+            palette[i] = null;
+            paletteData[i] = null;
+        }
+        paletteSize = 1;
+    }
+
+    public void set(int x, int y, int z, Material material) {
+        blocks[offset(x, z) + y - minY] = indexOf(material);
+    }
+
+    // Für Blöcke mit eigenem Zustand (z.B. Oraxen-Ores); gleiche Instanz = gleicher Palettenindex
+    public void set(int x, int y, int z, BlockData data) {
+        blocks[offset(x, z) + y - minY] = indexOf(data);
+    }
+
+    // [fromY, toY) einer Spalte
+    public void fill(int x, int z, int fromY, int toY, Material material) {
+        if (toY <= fromY) {
+            return;
+        }
+        int base = offset(x, z) - minY;
+        Arrays.fill(blocks, base + fromY, base + toY, indexOf(material));
+    }
+
+    public Material get(int x, int y, int z) {
+        int index = blocks[offset(x, z) + y - minY] & 0xFF;
+        return index == 0 ? null : palette[index];
+    }
+
+    public void flush(ChunkData chunkData) {
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int base = offset(x, z);
+                int y = 0;
+
+                while (y < height) {
+                    byte index = blocks[base + y];
+                    if (index == 0) {
+                        y++;
+                        continue;
+                    }
+
+                    int start = y;
+                    while (y < height && blocks[base + y] == index) {
+                        y++;
+                    }
+
+                    BlockData data = paletteData[index & 0xFF];
+                    if (y - start == 1) {
+                        chunkData.setBlock(x, minY + start, z, data);
+                    } else {
+                        chunkData.setRegion(x, minY + start, z, x + 1, minY + y, z + 1, data);
+                    }
+                }
+            }
+        }
+    }
+
+    public int getPaletteSize() {
+        return paletteSize - 1;
+    }
+
+    private int offset(int x, int z) {
+        return ((x << 4) | z) * height;
+    }
+
+    private byte indexOf(Material material) {
+        byte index = lookup[material.ordinal()];
+        if (index != 0) {
+            return index;
+        }
+
+        index = append(material, blockData(material));
+        lookup[material.ordinal()] = index;
+        return index;
+    }
+
+    private byte indexOf(BlockData data) {
+        for (int i = 1; i < paletteSize; i++) {
+            if (paletteData[i] == data) {
+                return (byte) i;
+            }
+        }
+        return append(data.getMaterial(), data);
+    }
+
+    private byte append(Material material, BlockData data) {
+        if (paletteSize >= MAX_PALETTE) {
+            throw new IllegalStateException("Chunk palette full (" + (MAX_PALETTE - 1) + " materials)");
+        }
+
+        palette[paletteSize] = material;
+        paletteData[paletteSize] = data;
+        return (byte) paletteSize++;
+    }
+}
@@ -0,0 +1,93 @@
+package de.tecca.ultimatedimensions.generator;
+
+public class ChunkHeightmap {
+
+    // 5x5 Eckpunkte pro Chunk, die Randpunkte liegen auf den Nachbar-Chunks
+    private static final int CELL_SIZE = 4;
+    private static final int GRID_SIZE = 16 / CELL_SIZE + 1;
+    private static final double INV_CELL_SIZE = 1.0 / CELL_SIZE;
+
+    private final boolean interpolate;
+    private final BatchNoise batch;
+    private final int[] floor = new int[256];
+    private final int[] ceiling = new int[256];
+    private final double[] pillars = new double[256];
+    private final double[] corners = new double[GRID_SIZE * GRID_SIZE];
+    private final double[] row = new double[16];
+
+    public ChunkHeightmap(boolean interpolate, BatchNoise batch) {
+        this.interpolate = interpolate;
+        this.batch = batch;
+    }
+
+    public static int index(int x, int z) {
+        return (x << 4) | z;
+    }
+
+    public void fillFloor(OctaveNoise noise, int worldX, int worldZ, int baseHeight, int variation) {
+        fillLayer(floor, noise, worldX, worldZ, baseHeight, variation);
+    }
+
+    public void fillCeiling(OctaveNoise noise, int worldX, int worldZ, int baseHeight, int variation) {
+        fillLayer(ceiling, noise, worldX, worldZ, baseHeight, variation);
+    }
+
+    // Werte über der Schwelle sind exakt, darunter ggf. -Infinity (siehe BatchNoise.sampleAbove2D)
+    public void fillPillars(OctaveNoise noise, int worldX, int worldZ, double threshold) {
+        for (int x = 0; x < 16; x++) {
+            batch.sampleAbove2D(noise, worldX + x, worldZ, 0, 1, 16, 1, 1, threshold, pillars, index(x, 0));
+        }
+    }
+
+    public int getFloor(int x, int z) {
+        return floor[index(x, z)];
+    }
+
+    public int getCeiling(int x, int z) {
+        return ceiling[index(x, z)];
+    }
+
+    public double getPillar(int x, int z) {
+        return pillars[index(x, z)];
+    }
+
+    public boolean isInterpolated() {
+        return interpolate;
+    }
+
+    private void fillLayer(int[] target, OctaveNoise noise, int worldX, int worldZ,
+                           int baseHeight, int variation) {
+        if (!interpolate) {
+            for (int x = 0; x < 16; x++) {
+                batch.sample2D(noise, worldX + x, worldZ, 0, 1, 16, 0.5, 0.5, row, 0);
+                for (int z = 0; z < 16; z++) {
+                    target[index(x, z)] = (int) (row[z] * variation) + baseHeight;
+                }
+            }
+            return;
+        }
+
+        for (int cx = 0; cx < GRID_SIZE; cx++) {
+            batch.sample2D(noise, worldX + cx * CELL_SIZE, worldZ, 0, CELL_SIZE, GRID_SIZE,
+                    0.5, 0.5, corners, cx * GRID_SIZE);
+        }
+
+        for (int x = 0; x < 16; x++) {
+            int cx = x / CELL_SIZE;
+            double fx = (x - cx * CELL_SIZE) * INV_CELL_SIZE;
+
+            for (int z = 0; z < 16; z++) {
+                int cz = z / CELL_SIZE;
+                double fz = (z - cz * CELL_SIZE) * INV_CELL_SIZE;
+
+                int i00 = cx * GRID_SIZE + cz;
+                int i10 = i00 + GRID_SIZE;
+                double near = corners[i00] + fz * (corners[i00 + 1] - corners[i00]);
+                double far = corners[i10] + fz * (corners[i10 + 1] - corners[i10]);
+                double value = near + fx * (far - near);
+
+                target[index(x, z)] = (int) (value * variation) + baseHeight;
+            }
+        }
+    }
+}
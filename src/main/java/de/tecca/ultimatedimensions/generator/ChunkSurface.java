@@ -0,0 +1,40 @@
+package de.tecca.ultimatedimensions.generator;
+
+import java.util.Arrays;
+
+// Übergabe vom Noise- an den Surface-Pass: oberster fester Block des Bodens (inkl. Säulen)
+// und unterster fester Block der Decke pro Spalte.
+public class ChunkSurface {
+
+    public static final int NONE = Integer.MIN_VALUE;
+    // Zwei int[256] plus Header und Tabellenplatz, für das CacheBudget
+    public static final int ESTIMATED_BYTES = 2128;
+
+    private final int[] floorTop = new int[256];
+    private final int[] ceilingBottom = new int[256];
+
+    public ChunkSurface() {
+        Arrays.fill(floorTop, NONE);
+        Arrays.fill(ceilingBottom, NONE);
+    }
+
+    public static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public void setFloorTop(int x, int z, int y) {
+        floorTop[ChunkHeightmap.index(x, z)] = y;
+    }
+
+    public void setCeilingBottom(int x, int z, int y) {
+        ceilingBottom[ChunkHeightmap.index(x, z)] = y;
+    }
+
+    public int getFloorTop(int x, int z) {
+        return floorTop[ChunkHeightmap.index(x, z)];
+    }
+
+    public int getCeilingBottom(int x, int z) {
+        return ceilingBottom[ChunkHeightmap.index(x, z)];
+    }
+}
@@ -1,9 +1,7 @@
 package de.tecca.ultimatedimensions.generator;
 
 import de.tecca.ultimatedimensions.dimension.BaseBiomeProvider;
-
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import de.tecca.ultimatedimensions.dimension.ZoneGrid;
 
 public class ChunkZoneCache {
 
@@ -23,11 +21,20 @@ public class ChunkZoneCache {
         public boolean isNormalZone() { return zoneType == 0; }
     }
 
-    private final Map<Long, ZoneData> cache = new ConcurrentHashMap<>();
+    public static final int DEFAULT_CAPACITY = 4096;
+    // ZoneData plus Tabellenplatz, grob geschätzt für das CacheBudget
+    public static final int ENTRY_BYTES = 64;
+
+    private final LongClockCache<ZoneData> cache;
     private final BaseBiomeProvider biomeProvider;
 
     public ChunkZoneCache(BaseBiomeProvider biomeProvider) {
+        this(biomeProvider, DEFAULT_CAPACITY);
+    }
+
+    public ChunkZoneCache(BaseBiomeProvider biomeProvider, int capacity) {
         this.biomeProvider = biomeProvider;
+        this.cache = new LongClockCache<>(capacity);
     }
 
     private long getChunkKey(int chunkX, int chunkZ) {
@@ -39,40 +46,25 @@ public class ChunkZoneCache {
         int chunkZ = z >> 4;
         long key = getChunkKey(chunkX, chunkZ);
 
-        return cache.computeIfAbsent(key, k -> {
-            int centerX = (chunkX << 4) + 8;
-            int centerZ = (chunkZ << 4) + 8;
-
-            int zoneType = biomeProvider.getZoneType(centerX, centerZ);
-            double zoneBlend = biomeProvider.getZoneBlend(centerX, centerZ);
-            double densityMultiplier = getDensityMultiplier(zoneType);
-
-            return new ZoneData(zoneType, densityMultiplier, zoneBlend);
+        return cache.getOrCompute(key, k -> {
+            // Chunk-Mitte (8, 8) liegt auf einer Quart-Ecke der Zonen-Kachel
+            ZoneGrid tile = biomeProvider.getZoneTile(chunkX, chunkZ);
+            int index = tile.indexAt((chunkX << 4) + 8, (chunkZ << 4) + 8);
+            return new ZoneData(tile.zoneType(index), tile.density(index), tile.blend(index));
         });
     }
 
     public ZoneData getZoneDataPrecise(int x, int z) {
-        int zoneType = biomeProvider.getZoneType(x, z);
-        double zoneBlend = biomeProvider.getZoneBlend(x, z);
-        double densityMultiplier = getDensityMultiplier(zoneType);
-        return new ZoneData(zoneType, densityMultiplier, zoneBlend);
-    }
-
-    private double getDensityMultiplier(int zoneType) {
-        return switch (zoneType) {
-            case 1 -> 1.8;
-            case 2 -> 1.4;
-            default -> 1.0;
-        };
+        ZoneGrid sample = biomeProvider.sampleZones(x, z, 1, 1, 1);
+        return new ZoneData(sample.zoneType(0), sample.density(0), sample.blend(0));
     }
 
+    public LongClockCache<ZoneData> getCache() { return cache; }
     public void clear() { cache.clear(); }
     public int size() { return cache.size(); }
-
-    public void cleanup(int maxSize) {
-        if (cache.size() > maxSize) {
-            int toRemove = cache.size() / 2;
-            cache.keySet().stream().limit(toRemove).forEach(cache::remove);
-        }
-    }
+    public int capacity() { return cache.capacity(); }
+    public long getHits() { return cache.hits(); }
+    public long getMisses() { return cache.misses(); }
+    public long getEvictions() { return cache.evictions(); }
+    public double getHitRate() { return cache.hitRate(); }
 }
\ No newline at end of file
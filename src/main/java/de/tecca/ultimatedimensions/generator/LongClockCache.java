@@ -0,0 +1,331 @@
+package de.tecca.ultimatedimensions.generator;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+// Begrenzter Cache mit primitiven long-Keys: gestreifte Open-Addressing-Tabellen
+// (lineares Sondieren) mit CLOCK-Verdrängung pro Stripe. Die Kapazität lässt sich zur Laufzeit
+// bis zur Anfangskapazität absenken und wieder anheben (CacheBudget), die Tabellen bleiben gleich groß.
+public class LongClockCache<V> {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes;
+    private final int maxCapacity;
+    private volatile int capacity;
+    // Bekommt verdrängte Werte außerhalb der Stripe-Locks, auf dem Thread, der die Verdrängung ausgelöst hat
+    private final Consumer<? super V> evictionListener;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LongClockCache(int capacity) {
+        this(capacity, null);
+    }
+
+    public LongClockCache(int capacity, Consumer<? super V> evictionListener) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+
+        this.maxCapacity = capacity;
+        this.capacity = capacity;
+        this.evictionListener = evictionListener;
+        int stripeCapacity = Math.max(1, (capacity + STRIPES - 1) / STRIPES);
+
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeCapacity, evictions, evictionListener != null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long hash = mix(key);
+        V value = (V) stripeFor(hash).get(key, hash);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrCompute(long key, LongFunction<? extends V> loader) {
+        long hash = mix(key);
+        Stripe stripe = stripeFor(hash);
+
+        V value = (V) stripe.get(key, hash);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        // Berechnung außerhalb des Locks, damit andere Worldgen-Threads nicht blockieren
+        V computed = loader.apply(key);
+        V existing = (V) stripe.putIfAbsent(key, hash, computed);
+        notifyEvicted(stripe);
+        return existing != null ? existing : computed;
+    }
+
+    public void put(long key, V value) {
+        long hash = mix(key);
+        Stripe stripe = stripeFor(hash);
+        stripe.put(key, hash, value);
+        notifyEvicted(stripe);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        long hash = mix(key);
+        return (V) stripeFor(hash).remove(key, hash);
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    // Verkleinern verdrängt sofort per CLOCK, bis jeder Stripe wieder in sein Limit passt
+    public synchronized void setCapacity(int capacity) {
+        int clamped = Math.max(1, Math.min(capacity, maxCapacity));
+        if (clamped == this.capacity) {
+            return;
+        }
+
+        this.capacity = clamped;
+        int stripeCapacity = Math.max(1, (clamped + STRIPES - 1) / STRIPES);
+        for (Stripe stripe : stripes) {
+            stripe.setCapacity(stripeCapacity);
+            notifyEvicted(stripe);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super V> action) {
+        for (Stripe stripe : stripes) {
+            stripe.forEach(value -> action.accept((V) value));
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public int capacity() { return capacity; }
+    public int maxCapacity() { return maxCapacity; }
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+    public long evictions() { return evictions.sum(); }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void notifyEvicted(Stripe stripe) {
+        if (evictionListener == null) {
+            return;
+        }
+        Object evicted;
+        while ((evicted = stripe.pollEvicted()) != null) {
+            evictionListener.accept((V) evicted);
+        }
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes[(int) (hash >>> 60) & (STRIPES - 1)];
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29);
+    }
+
+    private static final class Stripe {
+
+        private final LongAdder evictions;
+        // Nur mit Eviction-Listener: Verdrängte warten hier, bis der Aufrufer den Lock wieder abgegeben hat
+        private final ArrayDeque<Object> evicted;
+        private final int mask;
+        private final long[] keys;
+        private final Object[] values;
+        private final boolean[] referenced;
+        private int capacity;
+        private int size;
+        private int hand;
+
+        Stripe(int capacity, LongAdder evictions, boolean keepEvicted) {
+            this.evictions = evictions;
+            this.evicted = keepEvicted ? new ArrayDeque<>() : null;
+            this.capacity = capacity;
+            // Füllgrad max. 50%, damit die Sondierketten kurz bleiben
+            int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+            this.mask = tableSize - 1;
+            this.keys = new long[tableSize];
+            this.values = new Object[tableSize];
+            this.referenced = new boolean[tableSize];
+        }
+
+        synchronized Object get(long key, long hash) {
+            int index = find(key, hash);
+            if (index < 0) {
+                return null;
+            }
+            referenced[index] = true;
+            return values[index];
+        }
+
+        synchronized Object putIfAbsent(long key, long hash, Object value) {
+            int index = find(key, hash);
+            if (index >= 0) {
+                referenced[index] = true;
+                return values[index];
+            }
+            insert(key, hash, value);
+            return null;
+        }
+
+        synchronized void put(long key, long hash, Object value) {
+            int index = find(key, hash);
+            if (index >= 0) {
+                values[index] = value;
+                referenced[index] = true;
+                return;
+            }
+            insert(key, hash, value);
+        }
+
+        synchronized Object remove(long key, long hash) {
+            int index = find(key, hash);
+            if (index < 0) {
+                return null;
+            }
+            Object value = values[index];
+            deleteAt(index);
+            return value;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(values, null);
+            Arrays.fill(referenced, false);
+            size = 0;
+            hand = 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized Object pollEvicted() {
+            return evicted.poll();
+        }
+
+        synchronized void setCapacity(int capacity) {
+            this.capacity = capacity;
+            while (size > capacity) {
+                evictOne();
+            }
+        }
+
+        synchronized void forEach(Consumer<Object> action) {
+            for (Object value : values) {
+                if (value != null) {
+                    action.accept(value);
+                }
+            }
+        }
+
+        private int find(long key, long hash) {
+            int index = (int) hash & mask;
+            while (values[index] != null) {
+                if (keys[index] == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long key, long hash, Object value) {
+            if (size >= capacity) {
+                evictOne();
+            }
+
+            int index = (int) hash & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+            values[index] = value;
+            referenced[index] = false;
+            size++;
+        }
+
+        // CLOCK: referenzierte Einträge bekommen eine zweite Chance, der erste unreferenzierte fliegt
+        private void evictOne() {
+            while (true) {
+                hand = (hand + 1) & mask;
+                if (values[hand] == null) {
+                    continue;
+                }
+                if (referenced[hand]) {
+                    referenced[hand] = false;
+                    continue;
+                }
+                if (evicted != null) {
+                    evicted.add(values[hand]);
+                }
+                deleteAt(hand);
+                evictions.increment();
+                return;
+            }
+        }
+
+        // Backward-Shift-Deletion, damit keine Tombstones nötig sind
+        private void deleteAt(int index) {
+            values[index] = null;
+            referenced[index] = false;
+            size--;
+
+            int hole = index;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (values[next] == null) {
+                    return;
+                }
+
+                int home = (int) mix(keys[next]) & mask;
+                boolean canMove = hole <= next
+                        ? home <= hole || home > next
+                        : home <= hole && home > next;
+
+                if (canMove) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    referenced[hole] = referenced[next];
+                    values[next] = null;
+                    referenced[next] = false;
+                    hole = next;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package de.tecca.ultimatedimensions.generator;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class NoiseBank {
+
+    public static final long FLOOR_OFFSET = 0;
+    public static final long CEILING_OFFSET = 1000;
+    public static final long PILLAR_OFFSET = 2000;
+    public static final long ORE_OFFSET = 3000;
+    public static final long CRYSTAL_OFFSET = 4000;
+    public static final long CLUSTER_OFFSET = 8000;
+    public static final long CAVE_OFFSET = 9000;
+
+    private static final int OCTAVES = 6;
+
+    private record NoiseKey(long seedOffset, double scale) {}
+
+    private final long seed;
+    private final OctaveNoise.Mode mode;
+    private final Map<NoiseKey, OctaveNoise> layers = new ConcurrentHashMap<>();
+
+    public final OctaveNoise floor;
+    public final OctaveNoise ceiling;
+    public final OctaveNoise pillar;
+    public final OctaveNoise ore;
+    public final OctaveNoise crystal;
+    public final OctaveNoise cave;
+    public final OctaveNoise cluster;
+
+    public NoiseBank(long seed, TerrainConstants.NoiseScales scales, OctaveNoise.Mode mode) {
+        this.seed = seed;
+        this.mode = mode;
+        this.floor = get(FLOOR_OFFSET, scales.floor);
+        this.ceiling = get(CEILING_OFFSET, scales.ceiling);
+        this.pillar = get(PILLAR_OFFSET, scales.pillar);
+        this.ore = get(ORE_OFFSET, scales.ore);
+        this.crystal = get(CRYSTAL_OFFSET, scales.crystal);
+        this.cave = get(CAVE_OFFSET, scales.cave);
+        this.cluster = get(CLUSTER_OFFSET, scales.cluster);
+    }
+
+    // Für zusätzliche Layer außerhalb der festen Felder, nicht für den Hot-Path gedacht
+    public OctaveNoise get(long seedOffset, double scale) {
+        return layers.computeIfAbsent(new NoiseKey(seedOffset, scale), key -> {
+            return new OctaveNoise(new Random(seed + key.seedOffset()), OCTAVES, key.scale(), mode);
+        });
+    }
+
+    public OctaveNoise.Mode getMode() {
+        return mode;
+    }
+
+    public int size() {
+        return layers.size();
+    }
+}
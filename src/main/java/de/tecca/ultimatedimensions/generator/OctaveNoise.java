@@ -0,0 +1,495 @@
+package de.tecca.ultimatedimensions.generator;
+
+import java.util.Random;
+
+// Eigene Octave-Simplex-Implementierung ohne Allokationen im Hot-Path.
+// COMPAT bildet Bukkits SimplexOctaveGenerator exakt nach (dieser wertet auch 2D/3D-Aufrufe
+// als 4D-Simplex mit w = 0 aus), FAST nutzt echtes 2D/3D-Simplex auf denselben Permutationen.
+public final class OctaveNoise {
+
+    public enum Mode {
+        COMPAT, FAST;
+
+        public static Mode parse(String value) {
+            return value != null && value.equalsIgnoreCase("fast") ? FAST : COMPAT;
+        }
+    }
+
+    // Empirisches Maximum |noise| einer Oktave liegt bei ~0.99, mit Sicherheitsabstand
+    private static final double OCTAVE_BOUND = 1.1;
+    private static final double EPSILON = 1e-9;
+
+    private static final double SQRT_3 = Math.sqrt(3);
+    private static final double SQRT_5 = Math.sqrt(5);
+    private static final double F2 = 0.5 * (SQRT_3 - 1);
+    private static final double G2 = (3 - SQRT_3) / 6;
+    private static final double G22 = G2 * 2.0 - 1;
+    private static final double F3 = 1.0 / 3.0;
+    private static final double G3 = 1.0 / 6.0;
+    private static final double G32 = G3 * 2.0;
+    private static final double G33 = G3 * 3.0 - 1.0;
+    static final double F4 = (SQRT_5 - 1.0) / 4.0;
+    static final double G4 = (5.0 - SQRT_5) / 20.0;
+    static final double G42 = G4 * 2.0;
+    static final double G43 = G4 * 3.0;
+    static final double G44 = G4 * 4.0 - 1.0;
+
+    private static final double[] GRAD3 = {
+            1, 1, 0, -1, 1, 0, 1, -1, 0, -1, -1, 0,
+            1, 0, 1, -1, 0, 1, 1, 0, -1, -1, 0, -1,
+            0, 1, 1, 0, -1, 1, 0, 1, -1, 0, -1, -1
+    };
+
+    static final double[] GRAD4 = {
+            0, 1, 1, 1, 0, 1, 1, -1, 0, 1, -1, 1, 0, 1, -1, -1,
+            0, -1, 1, 1, 0, -1, 1, -1, 0, -1, -1, 1, 0, -1, -1, -1,
+            1, 0, 1, 1, 1, 0, 1, -1, 1, 0, -1, 1, 1, 0, -1, -1,
+            -1, 0, 1, 1, -1, 0, 1, -1, -1, 0, -1, 1, -1, 0, -1, -1,
+            1, 1, 0, 1, 1, 1, 0, -1, 1, -1, 0, 1, 1, -1, 0, -1,
+            -1, 1, 0, 1, -1, 1, 0, -1, -1, -1, 0, 1, -1, -1, 0, -1,
+            1, 1, 1, 0, 1, 1, -1, 0, 1, -1, 1, 0, 1, -1, -1, 0,
+            -1, 1, 1, 0, -1, 1, -1, 0, -1, -1, 1, 0, -1, -1, -1, 0
+    };
+
+    private static final int[][] SIMPLEX = {
+            {0, 1, 2, 3}, {0, 1, 3, 2}, {0, 0, 0, 0}, {0, 2, 3, 1}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {1, 2, 3, 0},
+            {0, 2, 1, 3}, {0, 0, 0, 0}, {0, 3, 1, 2}, {0, 3, 2, 1}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {1, 3, 2, 0},
+            {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0},
+            {1, 2, 0, 3}, {0, 0, 0, 0}, {1, 3, 0, 2}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {2, 3, 0, 1}, {2, 3, 1, 0},
+            {1, 0, 2, 3}, {1, 0, 3, 2}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {2, 0, 3, 1}, {0, 0, 0, 0}, {2, 1, 3, 0},
+            {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0},
+            {2, 0, 1, 3}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {3, 0, 1, 2}, {3, 0, 2, 1}, {0, 0, 0, 0}, {3, 1, 2, 0},
+            {2, 1, 0, 3}, {0, 0, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}, {3, 1, 0, 2}, {0, 0, 0, 0}, {3, 2, 0, 1}, {3, 2, 1, 0}
+    };
+
+    // Eckpunkt-Offsets pro Simplex-Index: [i1 j1 k1 l1 | i2 j2 k2 l2 | i3 j3 k3 l3]
+    private static final int[] CORNERS4 = new int[64 * 12];
+
+    static {
+        for (int c = 0; c < 64; c++) {
+            for (int axis = 0; axis < 4; axis++) {
+                int rank = SIMPLEX[c][axis];
+                CORNERS4[c * 12 + axis] = rank >= 3 ? 1 : 0;
+                CORNERS4[c * 12 + 4 + axis] = rank >= 2 ? 1 : 0;
+                CORNERS4[c * 12 + 8 + axis] = rank >= 1 ? 1 : 0;
+            }
+        }
+    }
+
+    private final Mode mode;
+    private final int octaves;
+    private final double scale;
+
+    // Pro Oktave 512 Einträge hintereinander; paketsichtbar für VectorBatchNoise
+    final int[] perm;
+    private final int[] permMod12;
+    final int[] permMod32;
+    final double[] offsetX;
+    final double[] offsetY;
+    final double[] offsetZ;
+    final double[] offsetW;
+
+    public OctaveNoise(Random random, int octaves, double scale, Mode mode) {
+        this.mode = mode;
+        this.octaves = octaves;
+        this.scale = scale;
+        this.perm = new int[octaves * 512];
+        this.permMod12 = new int[octaves * 512];
+        this.permMod32 = new int[octaves * 512];
+        this.offsetX = new double[octaves];
+        this.offsetY = new double[octaves];
+        this.offsetZ = new double[octaves];
+        this.offsetW = new double[octaves];
+
+        // Gleiche Reihenfolge der Random-Aufrufe wie PerlinNoiseGenerator/SimplexNoiseGenerator
+        for (int o = 0; o < octaves; o++) {
+            int base = o * 512;
+            offsetX[o] = random.nextDouble() * 256;
+            offsetY[o] = random.nextDouble() * 256;
+            offsetZ[o] = random.nextDouble() * 256;
+
+            for (int i = 0; i < 256; i++) {
+                perm[base + i] = random.nextInt(256);
+            }
+
+            for (int i = 0; i < 256; i++) {
+                int pos = random.nextInt(256 - i) + i;
+                int old = perm[base + i];
+                perm[base + i] = perm[base + pos];
+                perm[base + pos] = old;
+                perm[base + i + 256] = perm[base + i];
+            }
+
+            offsetW[o] = random.nextDouble() * 256;
+
+            for (int i = 0; i < 512; i++) {
+                permMod12[base + i] = perm[base + i] % 12;
+                permMod32[base + i] = perm[base + i] % 32;
+            }
+        }
+    }
+
+    public double noise(double x, double z, double frequency, double amplitude) {
+        double result = 0;
+        double amp = 1;
+        double freq = 1;
+        double max = 0;
+
+        x *= scale;
+        z *= scale;
+
+        for (int o = 0; o < octaves; o++) {
+            result += octave2(o, x * freq, z * freq) * amp;
+            max += amp;
+            freq *= frequency;
+            amp *= amplitude;
+        }
+
+        return result / max;
+    }
+
+    public double noise(double x, double y, double z, double frequency, double amplitude) {
+        double result = 0;
+        double amp = 1;
+        double freq = 1;
+        double max = 0;
+
+        x *= scale;
+        y *= scale;
+        z *= scale;
+
+        for (int o = 0; o < octaves; o++) {
+            result += octave3(o, x * freq, y * freq, z * freq) * amp;
+            max += amp;
+            freq *= frequency;
+            amp *= amplitude;
+        }
+
+        return result / max;
+    }
+
+    // Entspricht noise(x, z, f, a) > threshold, bricht aber ab, sobald die restlichen
+    // Oktaven das Ergebnis nicht mehr über bzw. unter die Schwelle bringen können.
+    public boolean exceeds(double x, double z, double frequency, double amplitude, double threshold) {
+        double total = totalAmplitude(amplitude);
+        double limit = threshold * total;
+        double result = 0;
+        double amp = 1;
+        double freq = 1;
+        double remaining = total;
+
+        x *= scale;
+        z *= scale;
+
+        for (int o = 0; o < octaves; o++) {
+            result += octave2(o, x * freq, z * freq) * amp;
+            remaining -= amp;
+
+            double slack = remaining * OCTAVE_BOUND + EPSILON;
+            if (result - slack > limit) return true;
+            if (result + slack <= limit) return false;
+
+            freq *= frequency;
+            amp *= amplitude;
+        }
+
+        return result / total > threshold;
+    }
+
+    public boolean exceeds(double x, double y, double z, double frequency, double amplitude, double threshold) {
+        double total = totalAmplitude(amplitude);
+        double limit = threshold * total;
+        double result = 0;
+        double amp = 1;
+        double freq = 1;
+        double remaining = total;
+
+        x *= scale;
+        y *= scale;
+        z *= scale;
+
+        for (int o = 0; o < octaves; o++) {
+            result += octave3(o, x * freq, y * freq, z * freq) * amp;
+            remaining -= amp;
+
+            double slack = remaining * OCTAVE_BOUND + EPSILON;
+            if (result - slack > limit) return true;
+            if (result + slack <= limit) return false;
+
+            freq *= frequency;
+            amp *= amplitude;
+        }
+
+        return result / total > threshold;
+    }
+
+    public Mode getMode() { return mode; }
+    public int getOctaves() { return octaves; }
+    public double getScale() { return scale; }
+
+    private double totalAmplitude(double amplitude) {
+        double amp = 1;
+        double max = 0;
+        for (int o = 0; o < octaves; o++) {
+            max += amp;
+            amp *= amplitude;
+        }
+        return max;
+    }
+
+    private double octave2(int o, double x, double z) {
+        return mode == Mode.COMPAT ? simplex4(o, x, z, 0, 0) : simplex2(o, x, z);
+    }
+
+    private double octave3(int o, double x, double y, double z) {
+        return mode == Mode.COMPAT ? simplex4(o, x, y, z, 0) : simplex3(o, x, y, z);
+    }
+
+    private static int floor(double x) {
+        return x >= 0 ? (int) x : (int) x - 1;
+    }
+
+    private double simplex2(int o, double x, double y) {
+        int base = o * 512;
+        x += offsetX[o];
+        y += offsetY[o];
+
+        double s = (x + y) * F2;
+        int i = floor(x + s);
+        int j = floor(y + s);
+        double t = (i + j) * G2;
+        double x0 = x - (i - t);
+        double y0 = y - (j - t);
+
+        int i1 = x0 > y0 ? 1 : 0;
+        int j1 = 1 - i1;
+
+        double x1 = x0 - i1 + G2;
+        double y1 = y0 - j1 + G2;
+        double x2 = x0 + G22;
+        double y2 = y0 + G22;
+
+        int ii = i & 255;
+        int jj = j & 255;
+
+        double n = 0;
+
+        double t0 = 0.5 - x0 * x0 - y0 * y0;
+        if (t0 > 0) {
+            int g = permMod12[base + ii + perm[base + jj]] * 3;
+            t0 *= t0;
+            n += t0 * t0 * (GRAD3[g] * x0 + GRAD3[g + 1] * y0);
+        }
+
+        double t1 = 0.5 - x1 * x1 - y1 * y1;
+        if (t1 > 0) {
+            int g = permMod12[base + ii + i1 + perm[base + jj + j1]] * 3;
+            t1 *= t1;
+            n += t1 * t1 * (GRAD3[g] * x1 + GRAD3[g + 1] * y1);
+        }
+
+        double t2 = 0.5 - x2 * x2 - y2 * y2;
+        if (t2 > 0) {
+            int g = permMod12[base + ii + 1 + perm[base + jj + 1]] * 3;
+            t2 *= t2;
+            n += t2 * t2 * (GRAD3[g] * x2 + GRAD3[g + 1] * y2);
+        }
+
+        return 70.0 * n;
+    }
+
+    private double simplex3(int o, double x, double y, double z) {
+        int base = o * 512;
+        x += offsetX[o];
+        y += offsetY[o];
+        z += offsetZ[o];
+
+        double s = (x + y + z) * F3;
+        int i = floor(x + s);
+        int j = floor(y + s);
+        int k = floor(z + s);
+        double t = (i + j + k) * G3;
+        double x0 = x - (i - t);
+        double y0 = y - (j - t);
+        double z0 = z - (k - t);
+
+        int i1, j1, k1;
+        int i2, j2, k2;
+        if (x0 >= y0) {
+            if (y0 >= z0) {
+                i1 = 1; j1 = 0; k1 = 0; i2 = 1; j2 = 1; k2 = 0;
+            } else if (x0 >= z0) {
+                i1 = 1; j1 = 0; k1 = 0; i2 = 1; j2 = 0; k2 = 1;
+            } else {
+                i1 = 0; j1 = 0; k1 = 1; i2 = 1; j2 = 0; k2 = 1;
+            }
+        } else {
+            if (y0 < z0) {
+                i1 = 0; j1 = 0; k1 = 1; i2 = 0; j2 = 1; k2 = 1;
+            } else if (x0 < z0) {
+                i1 = 0; j1 = 1; k1 = 0; i2 = 0; j2 = 1; k2 = 1;
+            } else {
+                i1 = 0; j1 = 1; k1 = 0; i2 = 1; j2 = 1; k2 = 0;
+            }
+        }
+
+        double x1 = x0 - i1 + G3;
+        double y1 = y0 - j1 + G3;
+        double z1 = z0 - k1 + G3;
+        double x2 = x0 - i2 + G32;
+        double y2 = y0 - j2 + G32;
+        double z2 = z0 - k2 + G32;
+        double x3 = x0 + G33;
+        double y3 = y0 + G33;
+        double z3 = z0 + G33;
+
+        int ii = i & 255;
+        int jj = j & 255;
+        int kk = k & 255;
+
+        double n = 0;
+
+        double t0 = 0.6 - x0 * x0 - y0 * y0 - z0 * z0;
+        if (t0 > 0) {
+            int g = permMod12[base + ii + perm[base + jj + perm[base + kk]]] * 3;
+            t0 *= t0;
+            n += t0 * t0 * (GRAD3[g] * x0 + GRAD3[g + 1] * y0 + GRAD3[g + 2] * z0);
+        }
+
+        double t1 = 0.6 - x1 * x1 - y1 * y1 - z1 * z1;
+        if (t1 > 0) {
+            int g = permMod12[base + ii + i1 + perm[base + jj + j1 + perm[base + kk + k1]]] * 3;
+            t1 *= t1;
+            n += t1 * t1 * (GRAD3[g] * x1 + GRAD3[g + 1] * y1 + GRAD3[g + 2] * z1);
+        }
+
+        double t2 = 0.6 - x2 * x2 - y2 * y2 - z2 * z2;
+        if (t2 > 0) {
+            int g = permMod12[base + ii + i2 + perm[base + jj + j2 + perm[base + kk + k2]]] * 3;
+            t2 *= t2;
+            n += t2 * t2 * (GRAD3[g] * x2 + GRAD3[g + 1] * y2 + GRAD3[g + 2] * z2);
+        }
+
+        double t3 = 0.6 - x3 * x3 - y3 * y3 - z3 * z3;
+        if (t3 > 0) {
+            int g = permMod12[base + ii + 1 + perm[base + jj + 1 + perm[base + kk + 1]]] * 3;
+            t3 *= t3;
+            n += t3 * t3 * (GRAD3[g] * x3 + GRAD3[g + 1] * y3 + GRAD3[g + 2] * z3);
+        }
+
+        return 32.0 * n;
+    }
+
+    // Muss Operation für Operation SimplexNoiseGenerator.noise(x, y, z, w) entsprechen,
+    // sonst entstehen Nähte zu bestehenden Chunks
+    private double simplex4(int o, double x, double y, double z, double w) {
+        int base = o * 512;
+        x += offsetX[o];
+        y += offsetY[o];
+        z += offsetZ[o];
+        w += offsetW[o];
+
+        double n0, n1, n2, n3, n4;
+
+        double s = (x + y + z + w) * F4;
+        int i = floor(x + s);
+        int j = floor(y + s);
+        int k = floor(z + s);
+        int l = floor(w + s);
+
+        double t = (i + j + k + l) * G4;
+        double x0 = x - (i - t);
+        double y0 = y - (j - t);
+        double z0 = z - (k - t);
+        double w0 = w - (l - t);
+
+        int c = (x0 > y0 ? 32 : 0) + (x0 > z0 ? 16 : 0) + (y0 > z0 ? 8 : 0)
+                + (x0 > w0 ? 4 : 0) + (y0 > w0 ? 2 : 0) + (z0 > w0 ? 1 : 0);
+        int corner = c * 12;
+
+        int i1 = CORNERS4[corner];
+        int j1 = CORNERS4[corner + 1];
+        int k1 = CORNERS4[corner + 2];
+        int l1 = CORNERS4[corner + 3];
+        int i2 = CORNERS4[corner + 4];
+        int j2 = CORNERS4[corner + 5];
+        int k2 = CORNERS4[corner + 6];
+        int l2 = CORNERS4[corner + 7];
+        int i3 = CORNERS4[corner + 8];
+        int j3 = CORNERS4[corner + 9];
+        int k3 = CORNERS4[corner + 10];
+        int l3 = CORNERS4[corner + 11];
+
+        double x1 = x0 - i1 + G4;
+        double y1 = y0 - j1 + G4;
+        double z1 = z0 - k1 + G4;
+        double w1 = w0 - l1 + G4;
+
+        double x2 = x0 - i2 + G42;
+        double y2 = y0 - j2 + G42;
+        double z2 = z0 - k2 + G42;
+        double w2 = w0 - l2 + G42;
+
+        double x3 = x0 - i3 + G43;
+        double y3 = y0 - j3 + G43;
+        double z3 = z0 - k3 + G43;
+        double w3 = w0 - l3 + G43;
+
+        double x4 = x0 + G44;
+        double y4 = y0 + G44;
+        double z4 = z0 + G44;
+        double w4 = w0 + G44;
+
+        int ii = base + (i & 255);
+        int jj = base + (j & 255);
+        int kk = base + (k & 255);
+        int ll = base + (l & 255);
+
+        double t0 = 0.6 - x0 * x0 - y0 * y0 - z0 * z0 - w0 * w0;
+        if (t0 < 0) {
+            n0 = 0.0;
+        } else {
+            int g = permMod32[ii + perm[jj + perm[kk + perm[ll]]]] << 2;
+            t0 *= t0;
+            n0 = t0 * t0 * (GRAD4[g] * x0 + GRAD4[g + 1] * y0 + GRAD4[g + 2] * z0 + GRAD4[g + 3] * w0);
+        }
+
+        double t1 = 0.6 - x1 * x1 - y1 * y1 - z1 * z1 - w1 * w1;
+        if (t1 < 0) {
+            n1 = 0.0;
+        } else {
+            int g = permMod32[ii + i1 + perm[jj + j1 + perm[kk + k1 + perm[ll + l1]]]] << 2;
+            t1 *= t1;
+            n1 = t1 * t1 * (GRAD4[g] * x1 + GRAD4[g + 1] * y1 + GRAD4[g + 2] * z1 + GRAD4[g + 3] * w1);
+        }
+
+        double t2 = 0.6 - x2 * x2 - y2 * y2 - z2 * z2 - w2 * w2;
+        if (t2 < 0) {
+            n2 = 0.0;
+        } else {
+            int g = permMod32[ii + i2 + perm[jj + j2 + perm[kk + k2 + perm[ll + l2]]]] << 2;
+            t2 *= t2;
+            n2 = t2 * t2 * (GRAD4[g] * x2 + GRAD4[g + 1] * y2 + GRAD4[g + 2] * z2 + GRAD4[g + 3] * w2);
+        }
+
+        double t3 = 0.6 - x3 * x3 - y3 * y3 - z3 * z3 - w3 * w3;
+        if (t3 < 0) {
+            n3 = 0.0;
+        } else {
+            int g = permMod32[ii + i3 + perm[jj + j3 + perm[kk + k3 + perm[ll + l3]]]] << 2;
+            t3 *= t3;
+            n3 = t3 * t3 * (GRAD4[g] * x3 + GRAD4[g + 1] * y3 + GRAD4[g + 2] * z3 + GRAD4[g + 3] * w3);
+        }
+
+        double t4 = 0.6 - x4 * x4 - y4 * y4 - z4 * z4 - w4 * w4;
+        if (t4 < 0) {
+            n4 = 0.0;
+        } else {
+            int g = permMod32[ii + 1 + perm[jj + 1 + perm[kk + 1 + perm[ll + 1]]]] << 2;
+            t4 *= t4;
+            n4 = t4 * t4 * (GRAD4[g] * x4 + GRAD4[g + 1] * y4 + GRAD4[g + 2] * z4 + GRAD4[g + 3] * w4);
+        }
+
+        return 27.0 * (n0 + n1 + n2 + n3 + n4);
+    }
+}
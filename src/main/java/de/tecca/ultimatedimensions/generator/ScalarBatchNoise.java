@@ -0,0 +1,55 @@
+package de.tecca.ultimatedimensions.generator;
+
+public class ScalarBatchNoise implements BatchNoise {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    public void sample2D(OctaveNoise noise, double x, double z, double stepX, double stepZ, int count,
+                         double frequency, double amplitude, double[] out, int offset) {
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = noise.noise(x + i * stepX, z + i * stepZ, frequency, amplitude);
+        }
+    }
+
+    @Override
+    public void sample3D(OctaveNoise noise, double x, double y, double z, double stepX, double stepY, double stepZ,
+                         int count, double frequency, double amplitude, double[] out, int offset) {
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = noise.noise(x + i * stepX, y + i * stepY, z + i * stepZ, frequency, amplitude);
+        }
+    }
+
+    @Override
+    public void sampleAbove2D(OctaveNoise noise, double x, double z, double stepX, double stepZ, int count,
+                              double frequency, double amplitude, double threshold, double[] out, int offset) {
+        for (int i = 0; i < count; i++) {
+            double px = x + i * stepX;
+            double pz = z + i * stepZ;
+            out[offset + i] = noise.exceeds(px, pz, frequency, amplitude, threshold)
+                    ? noise.noise(px, pz, frequency, amplitude)
+                    : Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    @Override
+    public void sampleAbove3D(OctaveNoise noise, double x, double y, double z, double stepX, double stepY, double stepZ,
+                              int count, double frequency, double amplitude, double threshold, double[] out, int offset) {
+        for (int i = 0; i < count; i++) {
+            double px = x + i * stepX;
+            double py = y + i * stepY;
+            double pz = z + i * stepZ;
+            out[offset + i] = noise.exceeds(px, py, pz, frequency, amplitude, threshold)
+                    ? noise.noise(px, py, pz, frequency, amplitude)
+                    : Double.NEGATIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package de.tecca.ultimatedimensions.generator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD-Variante von OctaveNoise im COMPAT-Modus: jede Lane rechnet Operation für Operation
+// wie OctaveNoise.simplex4 (kein FMA, gleiche Klammerung), damit die Werte bitgleich bleiben.
+// FAST wird skalar ausgewertet.
+public class VectorBatchNoise implements BatchNoise {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    // Addieren/Subtrahieren von 1.5 * 2^52 rundet jedes |v| < 2^51 auf die nächste Ganzzahl
+    private static final double ROUNDING_BIAS = 0x1.8p52;
+
+    private static final DoubleVector ZERO = DoubleVector.zero(SPECIES);
+    private static final DoubleVector ONE = DoubleVector.broadcast(SPECIES, 1.0);
+    private static final DoubleVector IOTA;
+
+    static {
+        double[] iota = new double[LANES];
+        for (int i = 0; i < LANES; i++) {
+            iota[i] = i;
+        }
+        IOTA = DoubleVector.fromArray(SPECIES, iota, 0);
+    }
+
+    // Zwischenstufen laufen über Lane-Arrays statt Vector-Parametern: Vektoren, die eine
+    // nicht geinlinte Methodengrenze überqueren, würden sonst als Objekte alloziert
+    private static final class Lanes {
+        final double[] x = new double[LANES];
+        final double[] y = new double[LANES];
+        final double[] z = new double[LANES];
+        final double[] result = new double[LANES];
+
+        final double[] x0 = new double[LANES];
+        final double[] y0 = new double[LANES];
+        final double[] z0 = new double[LANES];
+        final double[] w0 = new double[LANES];
+        final double[] i = new double[LANES];
+        final double[] j = new double[LANES];
+        final double[] k = new double[LANES];
+        final double[] l = new double[LANES];
+        final double[] rankX = new double[LANES];
+        final double[] rankY = new double[LANES];
+        final double[] rankZ = new double[LANES];
+        final double[] rankW = new double[LANES];
+
+        // Gradient-Komponenten der 5 Simplex-Ecken, je LANES Einträge hintereinander
+        final double[] gradX = new double[LANES * 5];
+        final double[] gradY = new double[LANES * 5];
+        final double[] gradZ = new double[LANES * 5];
+        final double[] gradW = new double[LANES * 5];
+    }
+
+    private final ScalarBatchNoise fallback = new ScalarBatchNoise();
+    private final ThreadLocal<Lanes> lanes = ThreadLocal.withInitial(Lanes::new);
+
+    @Override
+    public String getName() {
+        return "vector (" + LANES + " Lanes, " + SPECIES.vectorBitSize() + " Bit)";
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public void sample2D(OctaveNoise noise, double x, double z, double stepX, double stepZ, int count,
+                         double frequency, double amplitude, double[] out, int offset) {
+        if (noise.getMode() != OctaveNoise.Mode.COMPAT) {
+            fallback.sample2D(noise, x, z, stepX, stepZ, count, frequency, amplitude, out, offset);
+            return;
+        }
+
+        Lanes scratch = lanes.get();
+        for (int i = 0; i < count; i += LANES) {
+            DoubleVector index = IOTA.add(i);
+            // 2D-Aufrufe landen bei Bukkit als (x, z, 0, 0) im 4D-Simplex
+            DoubleVector px = index.mul(stepX).add(x);
+            DoubleVector pz = index.mul(stepZ).add(z);
+
+            px.intoArray(scratch.x, 0);
+            pz.intoArray(scratch.y, 0);
+            ZERO.intoArray(scratch.z, 0);
+
+            octaves(noise, scratch, frequency, amplitude);
+            DoubleVector.fromArray(SPECIES, scratch.result, 0)
+                    .intoArray(out, offset + i, SPECIES.indexInRange(i, count));
+        }
+    }
+
+    @Override
+    public void sample3D(OctaveNoise noise, double x, double y, double z, double stepX, double stepY, double stepZ,
+                         int count, double frequency, double amplitude, double[] out, int offset) {
+        if (noise.getMode() != OctaveNoise.Mode.COMPAT) {
+            fallback.sample3D(noise, x, y, z, stepX, stepY, stepZ, count, frequency, amplitude, out, offset);
+            return;
+        }
+
+        Lanes scratch = lanes.get();
+        for (int i = 0; i < count; i += LANES) {
+            DoubleVector index = IOTA.add(i);
+            DoubleVector px = index.mul(stepX).add(x);
+            DoubleVector py = index.mul(stepY).add(y);
+            DoubleVector pz = index.mul(stepZ).add(z);
+
+            px.intoArray(scratch.x, 0);
+            py.intoArray(scratch.y, 0);
+            pz.intoArray(scratch.z, 0);
+
+            octaves(noise, scratch, frequency, amplitude);
+            DoubleVector.fromArray(SPECIES, scratch.result, 0)
+                    .intoArray(out, offset + i, SPECIES.indexInRange(i, count));
+        }
+    }
+
+    // Volle Auswertung ist in SIMD günstiger als Oktaven pro Lane abzubrechen
+    @Override
+    public void sampleAbove2D(OctaveNoise noise, double x, double z, double stepX, double stepZ, int count,
+                              double frequency, double amplitude, double threshold, double[] out, int offset) {
+        if (noise.getMode() != OctaveNoise.Mode.COMPAT) {
+            fallback.sampleAbove2D(noise, x, z, stepX, stepZ, count, frequency, amplitude, threshold, out, offset);
+            return;
+        }
+        sample2D(noise, x, z, stepX, stepZ, count, frequency, amplitude, out, offset);
+    }
+
+    @Override
+    public void sampleAbove3D(OctaveNoise noise, double x, double y, double z, double stepX, double stepY, double stepZ,
+                              int count, double frequency, double amplitude, double threshold, double[] out, int offset) {
+        if (noise.getMode() != OctaveNoise.Mode.COMPAT) {
+            fallback.sampleAbove3D(noise, x, y, z, stepX, stepY, stepZ, count, frequency, amplitude,
+                    threshold, out, offset);
+            return;
+        }
+        sample3D(noise, x, y, z, stepX, stepY, stepZ, count, frequency, amplitude, out, offset);
+    }
+
+    private static void octaves(OctaveNoise noise, Lanes scratch, double frequency, double amplitude) {
+        ZERO.intoArray(scratch.result, 0);
+        double amp = 1;
+        double freq = 1;
+        double max = 0;
+
+        for (int o = 0; o < noise.getOctaves(); o++) {
+            skew(noise, scratch, o, freq);
+            hashCorners(noise, scratch, o * 512);
+            accumulate(scratch, amp);
+            max += amp;
+            freq *= frequency;
+            amp *= amplitude;
+        }
+
+        DoubleVector.fromArray(SPECIES, scratch.result, 0).div(max).intoArray(scratch.result, 0);
+    }
+
+    // Spiegelt den ersten Teil von OctaveNoise.simplex4 (w = 0): Skew, Zelle, Rang der Achsen
+    private static void skew(OctaveNoise noise, Lanes scratch, int o, double freq) {
+        double scale = noise.getScale();
+        DoubleVector x = DoubleVector.fromArray(SPECIES, scratch.x, 0).mul(scale).mul(freq).add(noise.offsetX[o]);
+        DoubleVector y = DoubleVector.fromArray(SPECIES, scratch.y, 0).mul(scale).mul(freq).add(noise.offsetY[o]);
+        DoubleVector z = DoubleVector.fromArray(SPECIES, scratch.z, 0).mul(scale).mul(freq).add(noise.offsetZ[o]);
+        DoubleVector w = DoubleVector.broadcast(SPECIES, noise.offsetW[o]);
+
+        DoubleVector s = x.add(y).add(z).add(w).mul(OctaveNoise.F4);
+
+        // Bukkits floor: (int) v für v >= 0, sonst (int) v - 1 – auch bei ganzzahligem v
+        DoubleVector v = x.add(s);
+        DoubleVector r = v.add(ROUNDING_BIAS).sub(ROUNDING_BIAS);
+        DoubleVector i = r.sub(1.0, r.compare(VectorOperators.GT, v))
+                .sub(1.0, v.compare(VectorOperators.LT, 0.0).and(r.compare(VectorOperators.EQ, v)));
+        v = y.add(s);
+        r = v.add(ROUNDING_BIAS).sub(ROUNDING_BIAS);
+        DoubleVector j = r.sub(1.0, r.compare(VectorOperators.GT, v))
+                .sub(1.0, v.compare(VectorOperators.LT, 0.0).and(r.compare(VectorOperators.EQ, v)));
+        v = z.add(s);
+        r = v.add(ROUNDING_BIAS).sub(ROUNDING_BIAS);
+        DoubleVector k = r.sub(1.0, r.compare(VectorOperators.GT, v))
+                .sub(1.0, v.compare(VectorOperators.LT, 0.0).and(r.compare(VectorOperators.EQ, v)));
+        v = w.add(s);
+        r = v.add(ROUNDING_BIAS).sub(ROUNDING_BIAS);
+        DoubleVector l = r.sub(1.0, r.compare(VectorOperators.GT, v))
+                .sub(1.0, v.compare(VectorOperators.LT, 0.0).and(r.compare(VectorOperators.EQ, v)));
+
+        DoubleVector t = i.add(j).add(k).add(l).mul(OctaveNoise.G4);
+        DoubleVector x0 = x.sub(i.sub(t));
+        DoubleVector y0 = y.sub(j.sub(t));
+        DoubleVector z0 = z.sub(k.sub(t));
+        DoubleVector w0 = w.sub(l.sub(t));
+
+        // Rang jeder Achse = Anzahl der Vergleiche, die sie gewinnt (entspricht der SIMPLEX-Tabelle)
+        VectorMask<Double> xy = x0.compare(VectorOperators.GT, y0);
+        VectorMask<Double> xz = x0.compare(VectorOperators.GT, z0);
+        VectorMask<Double> yz = y0.compare(VectorOperators.GT, z0);
+        VectorMask<Double> xw = x0.compare(VectorOperators.GT, w0);
+        VectorMask<Double> yw = y0.compare(VectorOperators.GT, w0);
+        VectorMask<Double> zw = z0.compare(VectorOperators.GT, w0);
+
+        ZERO.add(1.0, xy).add(1.0, xz).add(1.0, xw).intoArray(scratch.rankX, 0);
+        ONE.sub(1.0, xy).add(1.0, yz).add(1.0, yw).intoArray(scratch.rankY, 0);
+        ONE.add(1.0).sub(1.0, xz).sub(1.0, yz).add(1.0, zw).intoArray(scratch.rankZ, 0);
+        ONE.add(2.0).sub(1.0, xw).sub(1.0, yw).sub(1.0, zw).intoArray(scratch.rankW, 0);
+
+        i.intoArray(scratch.i, 0);
+        j.intoArray(scratch.j, 0);
+        k.intoArray(scratch.k, 0);
+        l.intoArray(scratch.l, 0);
+        x0.intoArray(scratch.x0, 0);
+        y0.intoArray(scratch.y0, 0);
+        z0.intoArray(scratch.z0, 0);
+        w0.intoArray(scratch.w0, 0);
+    }
+
+    // Permutations-Lookups lassen sich nicht sinnvoll vektorisieren, daher pro Lane
+    private static void hashCorners(OctaveNoise noise, Lanes scratch, int base) {
+        int[] perm = noise.perm;
+        int[] permMod32 = noise.permMod32;
+        double[] grad = OctaveNoise.GRAD4;
+
+        for (int lane = 0; lane < LANES; lane++) {
+            int ii = base + ((int) scratch.i[lane] & 255);
+            int jj = base + ((int) scratch.j[lane] & 255);
+            int kk = base + ((int) scratch.k[lane] & 255);
+            int ll = base + ((int) scratch.l[lane] & 255);
+
+            int rx = (int) scratch.rankX[lane];
+            int ry = (int) scratch.rankY[lane];
+            int rz = (int) scratch.rankZ[lane];
+            int rw = (int) scratch.rankW[lane];
+
+            for (int corner = 0; corner < 5; corner++) {
+                // Ecke c verschiebt jede Achse mit Rang >= 4 - c um eins
+                int min = 4 - corner;
+                int i1 = rx >= min ? 1 : 0;
+                int j1 = ry >= min ? 1 : 0;
+                int k1 = rz >= min ? 1 : 0;
+                int l1 = rw >= min ? 1 : 0;
+
+                int g = permMod32[ii + i1 + perm[jj + j1 + perm[kk + k1 + perm[ll + l1]]]] << 2;
+                int slot = corner * LANES + lane;
+                scratch.gradX[slot] = grad[g];
+                scratch.gradY[slot] = grad[g + 1];
+                scratch.gradZ[slot] = grad[g + 2];
+                scratch.gradW[slot] = grad[g + 3];
+            }
+        }
+    }
+
+    // Spiegelt den zweiten Teil von OctaveNoise.simplex4: Beiträge der 5 Ecken
+    private static void accumulate(Lanes scratch, double amp) {
+        DoubleVector x0 = DoubleVector.fromArray(SPECIES, scratch.x0, 0);
+        DoubleVector y0 = DoubleVector.fromArray(SPECIES, scratch.y0, 0);
+        DoubleVector z0 = DoubleVector.fromArray(SPECIES, scratch.z0, 0);
+        DoubleVector w0 = DoubleVector.fromArray(SPECIES, scratch.w0, 0);
+        DoubleVector rankX = DoubleVector.fromArray(SPECIES, scratch.rankX, 0);
+        DoubleVector rankY = DoubleVector.fromArray(SPECIES, scratch.rankY, 0);
+        DoubleVector rankZ = DoubleVector.fromArray(SPECIES, scratch.rankZ, 0);
+        DoubleVector rankW = DoubleVector.fromArray(SPECIES, scratch.rankW, 0);
+
+        DoubleVector sum = ZERO;
+        for (int corner = 0; corner < 5; corner++) {
+            DoubleVector x, y, z, w;
+            if (corner == 0) {
+                x = x0;
+                y = y0;
+                z = z0;
+                w = w0;
+            } else if (corner == 4) {
+                x = x0.add(OctaveNoise.G44);
+                y = y0.add(OctaveNoise.G44);
+                z = z0.add(OctaveNoise.G44);
+                w = w0.add(OctaveNoise.G44);
+            } else {
+                // G4 * c ist bitgleich zu den Konstanten G42/G43
+                int min = 4 - corner;
+                double g = OctaveNoise.G4 * corner;
+                x = x0.sub(1.0, rankX.compare(VectorOperators.GE, min)).add(g);
+                y = y0.sub(1.0, rankY.compare(VectorOperators.GE, min)).add(g);
+                z = z0.sub(1.0, rankZ.compare(VectorOperators.GE, min)).add(g);
+                w = w0.sub(1.0, rankW.compare(VectorOperators.GE, min)).add(g);
+            }
+
+            DoubleVector t = DoubleVector.broadcast(SPECIES, 0.6)
+                    .sub(x.mul(x)).sub(y.mul(y)).sub(z.mul(z)).sub(w.mul(w));
+            VectorMask<Double> outside = t.compare(VectorOperators.LT, 0.0);
+
+            int slot = corner * LANES;
+            DoubleVector gx = DoubleVector.fromArray(SPECIES, scratch.gradX, slot);
+            DoubleVector gy = DoubleVector.fromArray(SPECIES, scratch.gradY, slot);
+            DoubleVector gz = DoubleVector.fromArray(SPECIES, scratch.gradZ, slot);
+            DoubleVector gw = DoubleVector.fromArray(SPECIES, scratch.gradW, slot);
+
+            DoubleVector dot = gx.mul(x).add(gy.mul(y)).add(gz.mul(z)).add(gw.mul(w));
+            t = t.mul(t);
+            sum = sum.add(t.mul(t).mul(dot).blend(0.0, outside));
+        }
+
+        DoubleVector.fromArray(SPECIES, scratch.result, 0)
+                .add(sum.mul(27.0).mul(amp))
+                .intoArray(scratch.result, 0);
+    }
+}
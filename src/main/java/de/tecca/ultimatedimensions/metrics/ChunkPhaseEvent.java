@@ -0,0 +1,32 @@
+package de.tecca.ultimatedimensions.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Eine Generator-Stufe eines Chunks; Dauer = begin() bis end()
+@Name("ultimatedimensions.ChunkPhase")
+@Label("Chunk Generation Phase")
+@Category({"UltimateDimensions", "World Generation"})
+@Description("Eine Stufe (noise, surface, bedrock) der Chunk-Generierung")
+@StackTrace(false)
+public class ChunkPhaseEvent extends jdk.jfr.Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Zone")
+    @Description("Vorherrschende Zone in der Chunk-Mitte")
+    public String zone;
+}
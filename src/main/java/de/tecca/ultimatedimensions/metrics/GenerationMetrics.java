@@ -0,0 +1,61 @@
+package de.tecca.ultimatedimensions.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Laufzeiten der Generator-Stufen und Zähler einer Welt (ein Generator pro Welt)
+public final class GenerationMetrics {
+
+    public enum Phase {
+        NOISE("noise", "Noise"),
+        SURFACE("surface", "Surface"),
+        BEDROCK("bedrock", "Bedrock"),
+        // Berechnung einer Zonen-Kachel im Biome-Provider (getBiome selbst ist danach ein Cache-Treffer)
+        BIOME("biome", "Biome");
+
+        private final String key;
+        private final String displayName;
+
+        Phase(String key, String displayName) {
+            this.key = key;
+            this.displayName = displayName;
+        }
+
+        public String getKey() { return key; }
+        public String getDisplayName() { return displayName; }
+    }
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+    private final LongAdder oraxenOres = new LongAdder();
+
+    public GenerationMetrics() {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    // startNanos von System.nanoTime() vor der Stufe
+    public void record(Phase phase, long startNanos) {
+        phases[phase.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public void addOraxenOres(int count) {
+        if (count > 0) {
+            oraxenOres.add(count);
+        }
+    }
+
+    public LatencyHistogram get(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    public long getOraxenOres() {
+        return oraxenOres.sum();
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : phases) {
+            histogram.reset();
+        }
+        oraxenOres.reset();
+    }
+}
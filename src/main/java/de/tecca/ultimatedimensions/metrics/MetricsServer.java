@@ -0,0 +1,197 @@
+package de.tecca.ultimatedimensions.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.tecca.ultimatedimensions.UltimateDimensions;
+import de.tecca.ultimatedimensions.dimension.BaseBiomeProvider;
+import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
+import de.tecca.ultimatedimensions.generator.CacheBudget;
+import de.tecca.ultimatedimensions.generator.ChunkZoneCache;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Prometheus-Textformat unter http://127.0.0.1:<port>/metrics, nur über Loopback erreichbar.
+// Die Weltliste wird auf dem Main-Thread geholt, formatiert wird auf dem HTTP-Thread.
+// Eine Serie pro Generator: geteilte Generatoren zählen für alle ihre Welten (Label worlds) nur einmal.
+public final class MetricsServer {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private record Source(List<String> worlds, BaseDimensionGenerator generator, BaseBiomeProvider biomes) {}
+
+    private final UltimateDimensions plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MetricsServer(UltimateDimensions plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UltimateDimensions-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body;
+            try {
+                List<Source> sources = Bukkit.getScheduler()
+                        .callSyncMethod(plugin, MetricsServer::collect)
+                        .get(5, TimeUnit.SECONDS);
+                body = render(sources, plugin.getCacheBudget()).getBytes(StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static List<Source> collect() {
+        Map<BaseDimensionGenerator, Source> sources = new LinkedHashMap<>();
+        for (World world : Bukkit.getWorlds()) {
+            if (world.getGenerator() instanceof BaseDimensionGenerator gen) {
+                sources.computeIfAbsent(gen, key -> {
+                    BaseBiomeProvider biomes = gen.getDefaultBiomeProvider(world) instanceof BaseBiomeProvider provider
+                            ? provider : null;
+                    return new Source(new ArrayList<>(), gen, biomes);
+                }).worlds().add(world.getName());
+            }
+        }
+        return new ArrayList<>(sources.values());
+    }
+
+    private static String render(List<Source> sources, CacheBudget budget) {
+        StringBuilder out = new StringBuilder(4096);
+
+        out.append("# HELP ultimatedimensions_phase_seconds Laufzeit der Generator-Stufen\n");
+        out.append("# TYPE ultimatedimensions_phase_seconds summary\n");
+        for (Source source : sources) {
+            GenerationMetrics metrics = source.generator().getMetrics();
+            for (GenerationMetrics.Phase phase : GenerationMetrics.Phase.values()) {
+                LatencyHistogram.Snapshot snapshot = metrics.get(phase).snapshot();
+                String labels = generatorLabels(source) + ",phase=\"" + phase.getKey() + "\"";
+                for (double quantile : QUANTILES) {
+                    sample(out, "ultimatedimensions_phase_seconds",
+                            labels + ",quantile=\"" + quantile + "\"", snapshot.percentile(quantile) / 1e9);
+                }
+                sample(out, "ultimatedimensions_phase_seconds_sum", labels, snapshot.sum() / 1e9);
+                sample(out, "ultimatedimensions_phase_seconds_count", labels, snapshot.count());
+            }
+        }
+
+        out.append("# HELP ultimatedimensions_zone_cache_hits_total Treffer der Zonen-Caches\n");
+        out.append("# TYPE ultimatedimensions_zone_cache_hits_total counter\n");
+        for (Source source : sources) {
+            ChunkZoneCache zoneCache = source.generator().getZoneCache();
+            if (zoneCache != null) {
+                sample(out, "ultimatedimensions_zone_cache_hits_total", cacheLabels(source, "chunk"), zoneCache.getHits());
+            }
+            if (source.biomes() != null) {
+                sample(out, "ultimatedimensions_zone_cache_hits_total", cacheLabels(source, "tile"),
+                        source.biomes().getTileCacheHits());
+            }
+        }
+
+        out.append("# HELP ultimatedimensions_zone_cache_misses_total Fehlgriffe der Zonen-Caches\n");
+        out.append("# TYPE ultimatedimensions_zone_cache_misses_total counter\n");
+        for (Source source : sources) {
+            ChunkZoneCache zoneCache = source.generator().getZoneCache();
+            if (zoneCache != null) {
+                sample(out, "ultimatedimensions_zone_cache_misses_total", cacheLabels(source, "chunk"),
+                        zoneCache.getMisses());
+            }
+            if (source.biomes() != null) {
+                sample(out, "ultimatedimensions_zone_cache_misses_total", cacheLabels(source, "tile"),
+                        source.biomes().getTileCacheMisses());
+            }
+        }
+
+        out.append("# HELP ultimatedimensions_cache_bytes Geschätzte Belegung der Generator-Caches\n");
+        out.append("# TYPE ultimatedimensions_cache_bytes gauge\n");
+        for (Source source : sources) {
+            for (CacheBudget.Usage usage : budget.getUsage(source.generator())) {
+                sample(out, "ultimatedimensions_cache_bytes", cacheLabels(source, usage.name()), usage.bytes());
+            }
+        }
+
+        out.append("# HELP ultimatedimensions_cache_budget_bytes Gemeinsames Cache-Budget, 0 = unbegrenzt\n");
+        out.append("# TYPE ultimatedimensions_cache_budget_bytes gauge\n");
+        out.append("ultimatedimensions_cache_budget_bytes ").append(budget.getBudgetBytes()).append('\n');
+
+        out.append("# HELP ultimatedimensions_oraxen_ores_total Platzierte Oraxen-Ores\n");
+        out.append("# TYPE ultimatedimensions_oraxen_ores_total counter\n");
+        for (Source source : sources) {
+            sample(out, "ultimatedimensions_oraxen_ores_total", generatorLabels(source),
+                    source.generator().getMetrics().getOraxenOres());
+        }
+
+        return out.toString();
+    }
+
+    private static String generatorLabels(Source source) {
+        return "dimension=\"" + escape(source.generator().getConfig().getId()) + "\",seed=\""
+                + source.generator().getSeed() + "\",worlds=\"" + escape(String.join(",", source.worlds())) + "\"";
+    }
+
+    private static String cacheLabels(Source source, String cache) {
+        return generatorLabels(source) + ",cache=\"" + cache + "\"";
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append('{').append(labels).append("} ")
+                .append(String.format(Locale.ROOT, "%.9g", value)).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
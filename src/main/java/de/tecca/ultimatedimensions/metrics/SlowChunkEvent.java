@@ -0,0 +1,40 @@
+package de.tecca.ultimatedimensions.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Nur für Stufen über metrics.slow_chunk_ms; Zeitpunkt = Ende der Stufe
+@Name("ultimatedimensions.SlowChunk")
+@Label("Slow Chunk")
+@Category({"UltimateDimensions", "World Generation"})
+@Description("Eine Generator-Stufe hat die Schwelle metrics.slow_chunk_ms überschritten")
+@StackTrace(false)
+public class SlowChunkEvent extends jdk.jfr.Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Zone")
+    public String zone;
+
+    @Label("Stage Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long stageDuration;
+
+    @Label("Threshold")
+    @Timespan(Timespan.NANOSECONDS)
+    public long threshold;
+}
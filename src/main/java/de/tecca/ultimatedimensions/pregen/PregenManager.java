@@ -0,0 +1,346 @@
+package de.tecca.ultimatedimensions.pregen;
+
+import de.tecca.ultimatedimensions.UltimateDimensions;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Steuert alle Pregen-Aufträge: ein Tick-Task verteilt das Fenster paralleler Chunk-Anfragen
+// (AIMD anhand der MSPT), speichert den Fortschritt in pregen.yml und meldet Chunks/s und ETA.
+public class PregenManager {
+
+    private static final int SAVE_INTERVAL_TICKS = 200;
+    private static final int ADJUST_INTERVAL_TICKS = 20;
+
+    private final UltimateDimensions plugin;
+    private final File file;
+    private final FileConfiguration data;
+
+    private final int maxInFlight;
+    private final double targetMspt;
+    private final int reportIntervalTicks;
+
+    private final Map<String, PregenTask> tasks = new LinkedHashMap<>();
+    private final Map<String, CommandSender> listeners = new LinkedHashMap<>();
+    private final Map<String, Rate> rates = new LinkedHashMap<>();
+
+    private BukkitTask ticker;
+    private int window = 1;
+    private long ticks;
+
+    public PregenManager(UltimateDimensions plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "pregen.yml");
+        this.data = YamlConfiguration.loadConfiguration(file);
+
+        FileConfiguration config = plugin.getConfig();
+        this.maxInFlight = Math.max(1, config.getInt("pregen.max_in_flight", 32));
+        this.targetMspt = config.getDouble("pregen.target_mspt", 45.0);
+        this.reportIntervalTicks = Math.max(20, config.getInt("pregen.report_interval_seconds", 30) * 20);
+    }
+
+    public boolean start(World world, int radiusBlocks, CommandSender sender) {
+        String name = world.getName();
+        if (tasks.containsKey(name)) {
+            return false;
+        }
+
+        int radius = (radiusBlocks + 15) >> 4;
+        int centerX = world.getSpawnLocation().getBlockX() >> 4;
+        int centerZ = world.getSpawnLocation().getBlockZ() >> 4;
+
+        // Gleicher Auftrag wie der gespeicherte -> dort weitermachen
+        ConfigurationSection saved = data.getConfigurationSection("jobs." + name);
+        long committed = 0;
+        long completed = 0;
+        if (saved != null && saved.getInt("radius") == radius &&
+                saved.getInt("center_x") == centerX && saved.getInt("center_z") == centerZ) {
+            committed = saved.getLong("cursor");
+            completed = saved.getLong("completed");
+        }
+
+        add(new PregenTask(name, centerX, centerZ, radius, committed, completed, plugin.getLogger()), sender);
+        save();
+        return true;
+    }
+
+    public boolean stop(String worldName) {
+        PregenTask task = tasks.remove(worldName);
+        if (task == null) {
+            return false;
+        }
+
+        // Fortschritt bleibt in pregen.yml, ein erneutes /dimension pregen setzt fort
+        write(task);
+        listeners.remove(worldName);
+        rates.remove(worldName);
+        save();
+        return true;
+    }
+
+    // Welt gelöscht: Auftrag samt gespeichertem Fortschritt verwerfen
+    public void forget(String worldName) {
+        tasks.remove(worldName);
+        listeners.remove(worldName);
+        rates.remove(worldName);
+        if (data.contains("jobs." + worldName)) {
+            data.set("jobs." + worldName, null);
+            save();
+        }
+    }
+
+    // Pausierte Aufträge fordern keine neuen Chunks an, laufende Anfragen werden noch abgeschlossen
+    public boolean setPaused(String worldName, boolean paused) {
+        PregenTask task = tasks.get(worldName);
+        if (task == null) {
+            return false;
+        }
+
+        task.setPaused(paused);
+        write(task);
+        save();
+        return true;
+    }
+
+    public void resumeSaved() {
+        ConfigurationSection jobs = data.getConfigurationSection("jobs");
+        if (jobs == null) {
+            return;
+        }
+
+        for (String name : jobs.getKeys(false)) {
+            if (tasks.containsKey(name) || !jobs.getBoolean(name + ".running", false)) {
+                continue;
+            }
+            // Bei lazy_loading ist die Welt evtl. noch nicht geladen
+            if (plugin.loadWorld(name) == null) {
+                continue;
+            }
+
+            PregenTask task = new PregenTask(name,
+                    jobs.getInt(name + ".center_x"), jobs.getInt(name + ".center_z"), jobs.getInt(name + ".radius"),
+                    jobs.getLong(name + ".cursor"), jobs.getLong(name + ".completed"), plugin.getLogger());
+            task.setPaused(jobs.getBoolean(name + ".paused", false));
+            add(task, null);
+            plugin.getLogger().info("Pregen fortgesetzt: " + name + " (" + format(task) + ")");
+        }
+    }
+
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+        for (PregenTask task : tasks.values()) {
+            write(task);
+            data.set("jobs." + task.getWorldName() + ".running", true);
+        }
+        save();
+        tasks.clear();
+    }
+
+    public Collection<PregenTask> getTasks() {
+        return tasks.values();
+    }
+
+    public PregenTask getTask(String worldName) {
+        return tasks.get(worldName);
+    }
+
+    public String format(PregenTask task) {
+        long done = task.getCompleted();
+        Rate rate = rates.get(task.getWorldName());
+        double perSecond = rate != null ? rate.perSecond : 0;
+        long remaining = task.getTotal() - done;
+
+        String eta = perSecond > 0 ? formatDuration((long) (remaining / perSecond)) : "?";
+        return String.format("%d/%d Chunks (%.1f%%), %.1f Chunks/s, ETA %s, %d/%d angefordert%s",
+                done, task.getTotal(), done * 100.0 / task.getTotal(), perSecond, eta,
+                task.getInFlight(), task.getWindow(), task.isPaused() ? ", pausiert" : "");
+    }
+
+    private void add(PregenTask task, CommandSender sender) {
+        tasks.put(task.getWorldName(), task);
+        rates.put(task.getWorldName(), new Rate(task.getCompleted()));
+        if (sender != null) {
+            listeners.put(task.getWorldName(), sender);
+        }
+        data.set("jobs." + task.getWorldName() + ".running", true);
+
+        if (ticker == null) {
+            ticker = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private void tick() {
+        ticks++;
+
+        if (ticks % ADJUST_INTERVAL_TICKS == 0) {
+            // AIMD: bei zu hoher MSPT Fenster halbieren, sonst langsam vergrößern
+            double mspt = Bukkit.getAverageTickTime();
+            if (mspt > targetMspt) {
+                window = Math.max(1, window / 2);
+            } else if (mspt < targetMspt * 0.8) {
+                window = Math.min(maxInFlight, window + 1);
+            }
+        }
+
+        // Fenster wird gleichmäßig auf die nicht pausierten Aufträge verteilt
+        int active = 0;
+        for (PregenTask task : tasks.values()) {
+            if (!task.isPaused()) {
+                active++;
+            }
+        }
+        int perTask = Math.max(1, window / Math.max(1, active));
+        var iterator = tasks.values().iterator();
+        while (iterator.hasNext()) {
+            PregenTask task = iterator.next();
+            World world = Bukkit.getWorld(task.getWorldName());
+            if (world == null) {
+                iterator.remove();
+                abandon(task);
+                continue;
+            }
+
+            task.tick(world, perTask);
+
+            if (task.getFailure() != null) {
+                iterator.remove();
+                fail(task);
+            } else if (task.isDone()) {
+                iterator.remove();
+                finish(task);
+            }
+        }
+
+        if (ticks % reportIntervalTicks == 0) {
+            report();
+        }
+
+        if (ticks % SAVE_INTERVAL_TICKS == 0) {
+            for (PregenTask task : tasks.values()) {
+                write(task);
+            }
+            save();
+        }
+
+        if (tasks.isEmpty() && ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+    }
+
+    private void report() {
+        for (PregenTask task : tasks.values()) {
+            Rate rate = rates.get(task.getWorldName());
+            if (rate != null) {
+                rate.update(task.getCompleted(), reportIntervalTicks / 20.0);
+            }
+
+            String message = "Pregen " + task.getWorldName() + ": " + format(task);
+            plugin.getLogger().info(message);
+
+            CommandSender listener = listeners.get(task.getWorldName());
+            if (listener != null && listener != Bukkit.getConsoleSender()) {
+                listener.sendMessage("§7" + message);
+            }
+        }
+    }
+
+    private void finish(PregenTask task) {
+        String name = task.getWorldName();
+        data.set("jobs." + name, null);
+        save();
+        rates.remove(name);
+
+        String message = "Pregen " + name + " abgeschlossen: " + task.getCompleted() + " Chunks, davon "
+                + task.getGenerated() + " neu generiert";
+        plugin.getLogger().info(message);
+
+        CommandSender listener = listeners.remove(name);
+        if (listener != null && listener != Bukkit.getConsoleSender()) {
+            listener.sendMessage("§a" + message);
+        }
+    }
+
+    // Welt wurde entladen: wie stop(), ein erneutes /dimension pregen setzt nach dem Laden fort
+    private void abandon(PregenTask task) {
+        String name = task.getWorldName();
+        write(task);
+        save();
+        rates.remove(name);
+
+        String message = "Pregen " + name + " angehalten: Welt nicht mehr geladen, Fortschritt gespeichert";
+        plugin.getLogger().warning(message);
+
+        CommandSender listener = listeners.remove(name);
+        if (listener != null && listener != Bukkit.getConsoleSender()) {
+            listener.sendMessage("§c" + message);
+        }
+    }
+
+    // Wird nicht automatisch fortgesetzt; /dimension pregen <welt> <radius> startet ab dem gespeicherten Fortschritt
+    private void fail(PregenTask task) {
+        String name = task.getWorldName();
+        write(task);
+        save();
+        rates.remove(name);
+
+        String message = "Pregen " + name + " abgebrochen: " + task.getFailure();
+        plugin.getLogger().severe(message);
+
+        CommandSender listener = listeners.remove(name);
+        if (listener != null && listener != Bukkit.getConsoleSender()) {
+            listener.sendMessage("§c" + message);
+        }
+    }
+
+    private void write(PregenTask task) {
+        String path = "jobs." + task.getWorldName();
+        data.set(path + ".center_x", task.getCenterX());
+        data.set(path + ".center_z", task.getCenterZ());
+        data.set(path + ".radius", task.getRadius());
+        data.set(path + ".cursor", task.getCommitted());
+        data.set(path + ".completed", task.getCompleted());
+        data.set(path + ".running", tasks.containsKey(task.getWorldName()));
+        data.set(path + ".paused", task.isPaused() ? true : null);
+    }
+
+    private void save() {
+        try {
+            data.save(file);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Fehler beim Speichern der pregen.yml: " + e.getMessage());
+        }
+    }
+
+    private static String formatDuration(long seconds) {
+        return String.format("%02d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+
+    // Gleitender Mittelwert der Chunks pro Sekunde
+    private static final class Rate {
+        private long last;
+        private double perSecond;
+
+        Rate(long start) {
+            this.last = start;
+        }
+
+        void update(long completed, double seconds) {
+            double current = (completed - last) / seconds;
+            perSecond = perSecond == 0 ? current : perSecond * 0.7 + current * 0.3;
+            last = completed;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package de.tecca.ultimatedimensions.pregen;
+
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+// Ein Pregen-Auftrag für eine Welt. Reihenfolge: Regionen (32x32 Chunks) spiralförmig um die Mitte,
+// innerhalb einer Region in Dateireihenfolge (z, dann x), damit die Region-Dateien sequentiell beschrieben werden.
+// Fortschritt = Position in dieser Reihenfolge, bis zu der alle Chunks fertig sind.
+// Fehlgeschlagene Chunks werden bis zu MAX_ATTEMPTS mal neu angefordert, danach gilt der Auftrag als gescheitert;
+// der gespeicherte Fortschritt bleibt vor dem Chunk, ein Neustart versucht ihn also erneut.
+public class PregenTask {
+
+    private static final int REGION_CHUNKS = 32 * 32;
+
+    // Max. isChunkGenerated-Prüfungen pro Tick beim Überspringen fertiger Chunks
+    private static final int SKIP_CHECKS_PER_TICK = 256;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final String worldName;
+    private final Logger logger;
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final int minX, maxX, minZ, maxZ;
+    private final int[] regionX;
+    private final int[] regionZ;
+    private final long total;
+
+    // Nächste Position, die noch nicht angefordert wurde
+    private long cursor;
+    // Alle Positionen davor sind abgeschlossen (wird gespeichert)
+    private long committed;
+    private long completed;
+    private long generated;
+
+    private final ArrayDeque<Long> inFlight = new ArrayDeque<>();
+    private final Set<Long> finishedOutOfOrder = new HashSet<>();
+    // Bleiben in inFlight, bis sie erneut angefordert werden
+    private final ArrayDeque<Long> retries = new ArrayDeque<>();
+    private final Map<Long, Integer> failures = new HashMap<>();
+    private String failure;
+    private int window = 1;
+    private boolean paused;
+
+    public PregenTask(String worldName, int centerX, int centerZ, int radius, long committed, long completed,
+                      Logger logger) {
+        this.worldName = worldName;
+        this.logger = logger;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+
+        this.minX = centerX - radius;
+        this.maxX = centerX + radius;
+        this.minZ = centerZ - radius;
+        this.maxZ = centerZ + radius;
+        this.total = (long) (2 * radius + 1) * (2 * radius + 1);
+
+        int minRegionX = minX >> 5, maxRegionX = maxX >> 5;
+        int minRegionZ = minZ >> 5, maxRegionZ = maxZ >> 5;
+        int centerRegionX = centerX >> 5, centerRegionZ = centerZ >> 5;
+        int regions = (maxRegionX - minRegionX + 1) * (maxRegionZ - minRegionZ + 1);
+
+        this.regionX = new int[regions];
+        this.regionZ = new int[regions];
+        int count = 0;
+        int rings = Math.max(Math.max(centerRegionX - minRegionX, maxRegionX - centerRegionX),
+                Math.max(centerRegionZ - minRegionZ, maxRegionZ - centerRegionZ));
+
+        for (int ring = 0; ring <= rings; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) {
+                        continue;
+                    }
+                    int rx = centerRegionX + dx;
+                    int rz = centerRegionZ + dz;
+                    if (rx >= minRegionX && rx <= maxRegionX && rz >= minRegionZ && rz <= maxRegionZ) {
+                        regionX[count] = rx;
+                        regionZ[count] = rz;
+                        count++;
+                    }
+                }
+            }
+        }
+
+        this.cursor = committed;
+        this.committed = committed;
+        this.completed = Math.min(completed, total);
+    }
+
+    synchronized void tick(World world, int targetWindow) {
+        window = targetWindow;
+        if (paused || failure != null) {
+            return;
+        }
+
+        while (!retries.isEmpty()) {
+            request(world, retries.poll());
+        }
+
+        int checks = 0;
+        while (inFlight.size() < window && cursor < end() && checks < SKIP_CHECKS_PER_TICK) {
+            long position = cursor++;
+            int chunkX = chunkX(position);
+            int chunkZ = chunkZ(position);
+            if (!inBounds(chunkX, chunkZ)) {
+                continue;
+            }
+
+            checks++;
+            if (world.isChunkGenerated(chunkX, chunkZ)) {
+                inFlight.add(position);
+                finish(position, false);
+                continue;
+            }
+
+            inFlight.add(position);
+            request(world, position);
+        }
+    }
+
+    private void request(World world, long position) {
+        world.getChunkAtAsync(chunkX(position), chunkZ(position), true).whenComplete((chunk, error) -> {
+            if (error != null) {
+                failed(position, error);
+            } else {
+                finish(position, true);
+            }
+        });
+    }
+
+    private synchronized void failed(long position, Throwable error) {
+        int attempts = failures.merge(position, 1, Integer::sum);
+        String chunk = "Chunk " + chunkX(position) + "," + chunkZ(position) + " in " + worldName;
+        if (attempts < MAX_ATTEMPTS) {
+            logger.warning("Pregen: " + chunk + " fehlgeschlagen (Versuch " + attempts + "/" + MAX_ATTEMPTS
+                    + "), wird erneut angefordert: " + error);
+            retries.add(position);
+            return;
+        }
+
+        logger.severe("Pregen: " + chunk + " nach " + attempts + " Versuchen fehlgeschlagen: " + error);
+        if (failure == null) {
+            failure = chunk + ": " + error.getMessage();
+        }
+    }
+
+    private synchronized void finish(long position, boolean wasGenerated) {
+        failures.remove(position);
+        completed++;
+        if (wasGenerated) {
+            generated++;
+        }
+
+        finishedOutOfOrder.add(position);
+        while (!inFlight.isEmpty() && finishedOutOfOrder.remove(inFlight.peekFirst())) {
+            inFlight.pollFirst();
+        }
+        committed = inFlight.isEmpty() ? cursor : inFlight.peekFirst();
+    }
+
+    public synchronized boolean isDone() {
+        return cursor >= end() && inFlight.isEmpty();
+    }
+
+    // null, solange kein Chunk endgültig gescheitert ist
+    public synchronized String getFailure() {
+        return failure;
+    }
+
+    public synchronized void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    public String getWorldName() { return worldName; }
+    public int getCenterX() { return centerX; }
+    public int getCenterZ() { return centerZ; }
+    public int getRadius() { return radius; }
+    public long getTotal() { return total; }
+    public synchronized long getCommitted() { return committed; }
+    public synchronized long getCompleted() { return Math.min(completed, total); }
+    public synchronized long getGenerated() { return generated; }
+    public synchronized int getInFlight() { return inFlight.size(); }
+    public synchronized int getWindow() { return window; }
+
+    private long end() {
+        return (long) regionX.length * REGION_CHUNKS;
+    }
+
+    private int chunkX(long position) {
+        int slot = (int) (position % REGION_CHUNKS);
+        return (regionX[(int) (position / REGION_CHUNKS)] << 5) + (slot & 31);
+    }
+
+    private int chunkZ(long position) {
+        int slot = (int) (position % REGION_CHUNKS);
+        return (regionZ[(int) (position / REGION_CHUNKS)] << 5) + (slot >> 5);
+    }
+
+    private boolean inBounds(int chunkX, int chunkZ) {
+        return chunkX >= minX && chunkX <= maxX && chunkZ >= minZ && chunkZ <= maxZ;
+    }
+}
@@ -11,6 +11,45 @@ public class OraxenIntegration {
 
     private final Map<String, List<String>> oresByRarity = new HashMap<>();
     private boolean initialized = false;
+    private OrePalette palette = OrePalette.EMPTY;
+
+    // Einmalig aufgelöste Ore-Blöcke pro Seltenheit, danach unveränderlich und threadsicher lesbar
+    public static final class OrePalette {
+
+        public static final OrePalette EMPTY = new OrePalette(new BlockData[0], new BlockData[0], new BlockData[0]);
+
+        private final BlockData[] common;
+        private final BlockData[] rare;
+        private final BlockData[] epic;
+
+        private OrePalette(BlockData[] common, BlockData[] rare, BlockData[] epic) {
+            this.common = common;
+            this.rare = rare;
+            this.epic = epic;
+        }
+
+        public BlockData random(Random random, String rarity) {
+            BlockData[] ores = switch (rarity) {
+                case "common" -> common;
+                case "rare" -> rare;
+                case "epic" -> epic;
+                default -> null;
+            };
+
+            if (ores == null || ores.length == 0) {
+                return null;
+            }
+            return ores[random.nextInt(ores.length)];
+        }
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        public int size() {
+            return common.length + rare.length + epic.length;
+        }
+    }
 
     public OraxenIntegration() {
         initialize();
@@ -37,8 +76,8 @@ public class OraxenIntegration {
                 }
             }
 
-            int totalOres = getOreCount();
-            if (totalOres > 0) {
+            palette = new OrePalette(resolve("common"), resolve("rare"), resolve("epic"));
+            if (!palette.isEmpty()) {
                 initialized = true;
             }
 
@@ -47,6 +86,34 @@ public class OraxenIntegration {
         }
     }
 
+    private BlockData[] resolve(String rarity) {
+        List<BlockData> resolved = new ArrayList<>();
+
+        for (String oreId : oresByRarity.get(rarity)) {
+            try {
+                BlockData blockData = OraxenBlocks.getOraxenBlockData(oreId);
+                if (blockData == null) {
+                    // Kein Custom-Block, nur ein Item: Vanilla-Material des Items verwenden
+                    var item = OraxenItems.getItemById(oreId);
+                    Material material = item != null ? item.build().getType() : null;
+                    if (material != null && material.isBlock()) {
+                        blockData = material.createBlockData();
+                    }
+                }
+
+                if (blockData != null) {
+                    resolved.add(blockData);
+                } else {
+                    System.err.println("[UltimateDimensions] Oraxen-Ore ohne Blockdaten übersprungen: " + oreId);
+                }
+            } catch (Exception e) {
+                System.err.println("[UltimateDimensions] Oraxen-Ore " + oreId + " konnte nicht geladen werden: " + e.getMessage());
+            }
+        }
+
+        return resolved.toArray(new BlockData[0]);
+    }
+
     private String determineRarity(String itemId) {
         String lower = itemId.toLowerCase();
 
@@ -64,39 +131,19 @@ public class OraxenIntegration {
         return "common";
     }
 
-    public Material getRandomOre(Random random, String rarity) {
-        if (!initialized) return null;
-
-        List<String> ores = oresByRarity.get(rarity);
-        if (ores == null || ores.isEmpty()) {
-            return null;
-        }
-
-        try {
-            String oreId = ores.get(random.nextInt(ores.size()));
-
-            BlockData blockData = OraxenBlocks.getOraxenBlockData(oreId);
-            if (blockData != null) {
-                return blockData.getMaterial();
-            }
-
-            var item = OraxenItems.getItemById(oreId);
-            if (item != null) {
-                return item.build().getType();
-            }
-
-        } catch (Exception e) {
-            // Fehler beim Abrufen des Ore-Blocks, ignorieren
-        }
+    public BlockData getRandomOre(Random random, String rarity) {
+        return palette.random(random, rarity);
+    }
 
-        return null;
+    public OrePalette getPalette() {
+        return palette;
     }
 
     public boolean hasOres() {
-        return initialized && !oresByRarity.values().stream().allMatch(List::isEmpty);
+        return initialized && !palette.isEmpty();
     }
 
     public int getOreCount() {
-        return oresByRarity.values().stream().mapToInt(List::size).sum();
+        return palette.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package de.tecca.ultimatedimensions.world;
+
+import de.tecca.ultimatedimensions.UltimateDimensions;
+import de.tecca.ultimatedimensions.dimension.BaseBiomeProvider;
+import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
+import de.tecca.ultimatedimensions.dimension.GeneratorFactory;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Entlädt Custom-Welten, die idle_unload.minutes lang keine Spieler hatten. Der Generator bleibt
+// (samt Noise-Bank, Biome-Provider und Zonen-Caches) für schnelles Neuladen erhalten, höchstens
+// idle_unload.retained_generators Stück (LRU). Dafür hält der Unloader eine eigene Referenz in der
+// GeneratorFactory, die beim Neuladen auf die Welt übergeht. Läuft komplett auf dem Main-Thread.
+// Bukkit.unloadWorld(world, true) speichert Level-Daten und alle geladenen Chunks synchron auf dem Main-Thread;
+// die Bukkit-API bietet dafür keinen asynchronen Weg. Deshalb höchstens eine Welt pro Prüfung, damit sich
+// die Ruckler mehrerer gleichzeitig leer gewordener Welten nicht in einem Tick aufaddieren.
+public class IdleUnloader {
+
+    private static final long CHECK_INTERVAL_TICKS = 20L * 30;
+
+    public static final class Stats {
+        private int unloads;
+        private int reloads;
+        private long chunksReleased;
+        private long entitiesReleased;
+
+        public int getUnloads() { return unloads; }
+        public int getReloads() { return reloads; }
+        public long getChunksReleased() { return chunksReleased; }
+        public long getEntitiesReleased() { return entitiesReleased; }
+    }
+
+    private final UltimateDimensions plugin;
+    private final GeneratorFactory generators;
+    private final boolean enabled;
+    private final long idleMillis;
+    private final int retainedLimit;
+
+    private final Map<String, Long> emptySince = new HashMap<>();
+    private final Map<String, BaseDimensionGenerator> retained = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> unloaded = new HashSet<>();
+    private final Map<String, Stats> stats = new HashMap<>();
+
+    private BukkitTask task;
+
+    public IdleUnloader(UltimateDimensions plugin) {
+        this.plugin = plugin;
+        this.generators = plugin.getDimensionRegistry().getGeneratorFactory();
+
+        FileConfiguration config = plugin.getConfig();
+        this.enabled = config.getBoolean("idle_unload.enabled", false);
+        this.idleMillis = Math.max(1, config.getInt("idle_unload.minutes", 15)) * 60_000L;
+        this.retainedLimit = Math.max(0, config.getInt("idle_unload.retained_generators", 8));
+    }
+
+    public void start() {
+        if (enabled && task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::check, CHECK_INTERVAL_TICKS, CHECK_INTERVAL_TICKS);
+        }
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        retained.values().forEach(generators::release);
+        retained.clear();
+    }
+
+    private void check() {
+        long now = System.currentTimeMillis();
+        World longestIdle = null;
+        long longestSince = Long.MAX_VALUE;
+
+        for (World world : Bukkit.getWorlds()) {
+            String name = world.getName();
+            if (!(world.getGenerator() instanceof BaseDimensionGenerator) || !plugin.isKnownWorld(name)) {
+                continue;
+            }
+
+            // Laufende Vorgenerierung zählt als Nutzung
+            if (!world.getPlayers().isEmpty() || plugin.getPregenManager().getTask(name) != null) {
+                emptySince.remove(name);
+                continue;
+            }
+
+            long since = emptySince.computeIfAbsent(name, k -> now);
+            if (now - since >= idleMillis && since < longestSince) {
+                longestIdle = world;
+                longestSince = since;
+            }
+        }
+
+        if (longestIdle != null) {
+            unload(longestIdle);
+        }
+    }
+
+    private void unload(World world) {
+        String name = world.getName();
+        BaseDimensionGenerator generator = (BaseDimensionGenerator) world.getGenerator();
+        BaseBiomeProvider biomes = generator.getDefaultBiomeProvider(world) instanceof BaseBiomeProvider provider
+                ? provider : null;
+        int chunks = world.getChunkCount();
+        int entities = world.getEntityCount();
+
+        emptySince.remove(name);
+        // Vor dem Entladen referenzieren, sonst gibt der Unload-Listener den Generator schon frei
+        boolean keep = retainedLimit > 0 && generators.retain(generator);
+        // Speichert synchron, siehe Klassenkommentar
+        if (!Bukkit.unloadWorld(world, true)) {
+            if (keep) {
+                generators.release(generator);
+            }
+            return;
+        }
+
+        if (biomes != null) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, biomes::flushZoneMap);
+        }
+
+        if (keep) {
+            retain(name, generator);
+        }
+        unloaded.add(name);
+
+        Stats worldStats = stats.computeIfAbsent(name, k -> new Stats());
+        worldStats.unloads++;
+        worldStats.chunksReleased += chunks;
+        worldStats.entitiesReleased += entities;
+
+        plugin.getLogger().info("Welt " + name + " ohne Spieler entladen (" + chunks + " Chunks, "
+                + entities + " Entities)");
+    }
+
+    private void retain(String name, BaseDimensionGenerator generator) {
+        BaseDimensionGenerator previous = retained.put(name, generator);
+        if (previous != null) {
+            generators.release(previous);
+        }
+
+        Iterator<BaseDimensionGenerator> eldest = retained.values().iterator();
+        while (retained.size() > retainedLimit && eldest.hasNext()) {
+            generators.release(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    // Die Welt hält jetzt selbst eine Referenz auf den Generator, die des Unloaders wird frei
+    public void worldLoaded(String name) {
+        BaseDimensionGenerator generator = retained.remove(name);
+        if (generator != null) {
+            generators.release(generator);
+        }
+        if (unloaded.remove(name)) {
+            stats.computeIfAbsent(name, k -> new Stats()).reloads++;
+        }
+    }
+
+    public void forget(String name) {
+        BaseDimensionGenerator generator = retained.remove(name);
+        if (generator != null) {
+            generators.release(generator);
+        }
+        unloaded.remove(name);
+        emptySince.remove(name);
+        stats.remove(name);
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public boolean isRetained(String name) { return retained.containsKey(name); }
+    public Stats getStats(String name) { return stats.get(name); }
+    public int getRetainedCount() { return retained.size(); }
+    public int getRetainedLimit() { return retainedLimit; }
+}
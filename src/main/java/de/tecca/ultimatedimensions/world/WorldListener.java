@@ -0,0 +1,60 @@
+package de.tecca.ultimatedimensions.world;
+
+import de.tecca.ultimatedimensions.UltimateDimensions;
+import de.tecca.ultimatedimensions.dimension.BaseDimensionGenerator;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.concurrent.TimeUnit;
+
+// Lädt beim Login die Custom-Welt nach, in der der Spieler ausgeloggt hat. Der Pre-Login läuft asynchron,
+// das Laden selbst auf dem Main-Thread; der Server findet die Welt danach wie gewohnt über die Spielerdaten.
+public class WorldListener implements Listener {
+
+    private static final long LOGIN_LOAD_TIMEOUT_SECONDS = 30;
+
+    private final UltimateDimensions plugin;
+
+    public WorldListener(UltimateDimensions plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        String worldName = plugin.getWorldStore().getPlayerWorld(event.getUniqueId());
+        if (worldName == null) {
+            return;
+        }
+
+        try {
+            Bukkit.getScheduler().callSyncMethod(plugin, () -> plugin.loadWorld(worldName))
+                    .get(LOGIN_LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Welt " + worldName + " konnte beim Login nicht geladen werden: " + e.getMessage());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        plugin.recordPlayerWorld(event.getPlayer());
+    }
+
+    // Gibt die Referenz der Welt auf ihren (ggf. geteilten) Generator zurück, egal wer entlädt (auch /dimension delete).
+    // Gecachte Zonensuchen halten den Biome-Provider fest und werden mit verworfen.
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        if (event.getWorld().getGenerator() instanceof BaseDimensionGenerator generator) {
+            plugin.getDimensionRegistry().releaseGenerator(generator);
+            plugin.getZoneSearch().invalidate(event.getWorld().getUID());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package de.tecca.ultimatedimensions.world;
+
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Welt-Metadaten (worlds.yml) im Speicher. Änderungen werden gesammelt und FLUSH_DELAY_MS später
+// auf einem Hintergrund-Thread geschrieben: erst in eine Temp-Datei, dann atomar umbenannt.
+// Zusätzlich: in welcher Custom-Welt ein Spieler ausgeloggt hat, damit sie beim Login nachgeladen werden kann.
+public class WorldStore {
+
+    public record Entry(long seed, World.Environment environment, String dimensionType, boolean loadOnStartup) {
+
+        public Entry withLoadOnStartup(boolean loadOnStartup) {
+            return new Entry(seed, environment, dimensionType, loadOnStartup);
+        }
+    }
+
+    private static final long FLUSH_DELAY_MS = 2000;
+
+    private static final String HEADER = """
+            # UltimateDimensions - Welten-Konfiguration
+            # Diese Datei wird automatisch verwaltet
+            # load_on_startup: true lädt die Welt auch bei worlds.lazy_loading sofort beim Start
+
+            """;
+
+    private final Path file;
+    private final Logger logger;
+    private final Map<String, Entry> worlds = new LinkedHashMap<>();
+    private final Map<UUID, String> playerWorlds = new LinkedHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    // Geschützt durch this
+    private long version;
+    private ScheduledFuture<?> pending;
+
+    // Geschützt durch writeLock: Stand, der zuletzt auf der Platte gelandet ist
+    private final Object writeLock = new Object();
+    private long written;
+
+    public WorldStore(File file, Logger logger) {
+        this.file = file.toPath();
+        this.logger = logger;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UltimateDimensions-WorldStore");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized void load() {
+        worlds.clear();
+        playerWorlds.clear();
+
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file.toFile());
+        ConfigurationSection section = yaml.getConfigurationSection("worlds");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                World.Environment environment;
+                try {
+                    environment = World.Environment.valueOf(section.getString(name + ".environment", "NORMAL"));
+                } catch (IllegalArgumentException e) {
+                    environment = World.Environment.NORMAL;
+                }
+
+                worlds.put(name, new Entry(section.getLong(name + ".seed", 0), environment,
+                        section.getString(name + ".dimension_type", "amethyst"),
+                        section.getBoolean(name + ".load_on_startup", false)));
+            }
+        }
+
+        ConfigurationSection players = yaml.getConfigurationSection("players");
+        if (players != null) {
+            for (String key : players.getKeys(false)) {
+                try {
+                    playerWorlds.put(UUID.fromString(key), players.getString(key));
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+        }
+        version = 0;
+        written = 0;
+    }
+
+    public synchronized Entry get(String name) {
+        return worlds.get(name);
+    }
+
+    public synchronized Map<String, Entry> getAll() {
+        return new LinkedHashMap<>(worlds);
+    }
+
+    // false, wenn sich nichts geändert hat (dann wird auch nichts geschrieben)
+    public synchronized boolean put(String name, Entry entry) {
+        if (entry.equals(worlds.get(name))) {
+            return false;
+        }
+        worlds.put(name, entry);
+        markDirty();
+        return true;
+    }
+
+    public synchronized boolean remove(String name) {
+        if (worlds.remove(name) == null) {
+            return false;
+        }
+        playerWorlds.values().removeIf(name::equals);
+        markDirty();
+        return true;
+    }
+
+    public synchronized String getPlayerWorld(UUID player) {
+        return playerWorlds.get(player);
+    }
+
+    // null = Spieler ist nicht in einer gespeicherten Welt
+    public synchronized void setPlayerWorld(UUID player, String worldName) {
+        String previous = worldName != null ? playerWorlds.put(player, worldName) : playerWorlds.remove(player);
+        if (worldName == null ? previous != null : !worldName.equals(previous)) {
+            markDirty();
+        }
+    }
+
+    // Schreibt sofort (auf dem aufrufenden Thread), falls seit dem letzten Schreiben etwas geändert wurde
+    public void flush() {
+        synchronized (writeLock) {
+            long snapshotVersion;
+            Map<String, Entry> snapshot;
+            Map<UUID, String> players;
+            synchronized (this) {
+                snapshotVersion = version;
+                snapshot = new LinkedHashMap<>(worlds);
+                players = new LinkedHashMap<>(playerWorlds);
+            }
+            if (snapshotVersion == written) {
+                return;
+            }
+
+            try {
+                write(snapshot, players);
+                written = snapshotVersion;
+            } catch (IOException e) {
+                logger.severe("Fehler beim Speichern der worlds.yml: " + e.getMessage());
+            }
+        }
+    }
+
+    // Einmal beim Herunterfahren: ausstehende Verzögerung verwerfen und direkt schreiben
+    public void close() {
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+        executor.shutdown();
+        flush();
+    }
+
+    private void markDirty() {
+        version++;
+        // Eine geplante Schreibung nimmt alle Änderungen bis zu ihrem Start mit. Läuft sie schon (Delay abgelaufen),
+        // hat sie ihren Snapshot evtl. bereits gezogen -> neu planen, der Executor arbeitet beide nacheinander ab
+        if ((pending == null || pending.getDelay(TimeUnit.MILLISECONDS) <= 0) && !executor.isShutdown()) {
+            pending = executor.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void write(Map<String, Entry> snapshot, Map<UUID, String> players) throws IOException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.createSection("worlds");
+        for (Map.Entry<String, Entry> world : snapshot.entrySet()) {
+            String path = "worlds." + world.getKey();
+            yaml.set(path + ".seed", world.getValue().seed());
+            yaml.set(path + ".environment", world.getValue().environment().name());
+            yaml.set(path + ".dimension_type", world.getValue().dimensionType());
+            if (world.getValue().loadOnStartup()) {
+                yaml.set(path + ".load_on_startup", true);
+            }
+        }
+        for (Map.Entry<UUID, String> player : players.entrySet()) {
+            yaml.set("players." + player.getKey(), player.getValue());
+        }
+
+        byte[] content = (HEADER + yaml.saveToString()).getBytes(StandardCharsets.UTF_8);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.getParent());
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}